@@ -0,0 +1,58 @@
+package com.specit.productlist.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.api.dto.ProductListResponseDto;
+import com.specit.productlist.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a listing response body with an {@link ObjectMapper} configured the way Spring MVC
+ * configures its message converter. The output buffer is reused, like a servlet response buffer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductListSerializationBenchmark {
+
+    @Param({"20", "200"})
+    int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ProductListResponseDto response;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<ProductDto> items = Fixtures.productDtos(pageSize);
+        response = new ProductListResponseDto(items, 1, pageSize, 10_000, 10_000 / pageSize, true, true);
+        buffer = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    @Benchmark
+    public int writeResponse() throws IOException {
+        buffer.reset();
+        objectMapper.writeValue(buffer, response);
+        return buffer.size();
+    }
+}
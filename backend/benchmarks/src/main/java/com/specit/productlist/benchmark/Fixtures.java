@@ -0,0 +1,75 @@
+package com.specit.productlist.benchmark;
+
+import com.specit.productlist.api.dto.CategoryDto;
+import com.specit.productlist.api.dto.MoneyDto;
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.model.Category;
+import com.specit.productlist.model.Product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic catalog rows shaped like the seed data: short names, a one-line summary, an image
+ * URL, a two-decimal price and one of a handful of categories.
+ */
+public final class Fixtures {
+
+    private static final String[] WORDS = {
+            "Classic", "Wireless", "Organic", "Compact", "Deluxe", "Travel", "Smart", "Cotton",
+            "Lamp", "Headphones", "Backpack", "Kettle", "Sneakers", "Notebook", "Mug", "Chair"
+    };
+
+    private Fixtures() {
+    }
+
+    public static List<Category> categories(int count) {
+        Random random = new Random(7);
+        List<Category> categories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Category c = new Category();
+            c.setId(new UUID(random.nextLong(), random.nextLong()));
+            c.setName(WORDS[i % WORDS.length] + " Goods");
+            categories.add(c);
+        }
+        return categories;
+    }
+
+    public static List<Product> products(int count, List<Category> categories) {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product p = new Product();
+            p.setId(new UUID(random.nextLong(), random.nextLong()));
+            p.setName(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i);
+            p.setDescriptionSummary("A dependable everyday item, product number " + i + ".");
+            p.setImageUrl("https://cdn.example.com/products/" + i + ".jpg");
+            p.setPriceAmount(BigDecimal.valueOf(100 + random.nextInt(99_900), 2));
+            p.setPriceCurrency("USD");
+            p.setAvailable(true);
+            p.setCategory(categories.get(i % categories.size()));
+            products.add(p);
+        }
+        return products;
+    }
+
+    public static List<ProductDto> productDtos(int count) {
+        List<Category> categories = categories(8);
+        List<ProductDto> dtos = new ArrayList<>(count);
+        for (Product p : products(count, categories)) {
+            dtos.add(new ProductDto(
+                    p.getId(),
+                    p.getName(),
+                    p.getDescriptionSummary(),
+                    p.getImageUrl(),
+                    new MoneyDto(p.getPriceAmount(), p.getPriceCurrency()),
+                    p.isAvailable(),
+                    new CategoryDto(p.getCategory().getId(), p.getCategory().getName())
+            ));
+        }
+        return dtos;
+    }
+}
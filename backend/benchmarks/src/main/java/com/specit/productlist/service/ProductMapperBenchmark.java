@@ -0,0 +1,67 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.CategoryDto;
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.benchmark.Fixtures;
+import com.specit.productlist.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping one page of entities to DTOs, as the entity read path does. One operation is a whole page.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    @Param({"20", "200"})
+    int pageSize;
+
+    private List<Product> page;
+
+    @Setup
+    public void setUp() {
+        page = Fixtures.products(pageSize, Fixtures.categories(8));
+    }
+
+    @Benchmark
+    public List<ProductDto> toDto() {
+        List<ProductDto> dtos = new ArrayList<>(page.size());
+        for (Product p : page) {
+            dtos.add(ProductMapper.toDto(p));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<ProductDto> toDtoSharingCategories() {
+        Map<UUID, CategoryDto> categories = new HashMap<>();
+        List<ProductDto> dtos = new ArrayList<>(page.size());
+        for (Product p : page) {
+            CategoryDto category = categories.computeIfAbsent(p.getCategory().getId(),
+                    id -> ProductMapper.toCategoryDto(p.getCategory()));
+            dtos.add(ProductMapper.toDto(p, category));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,41 @@
+package com.specit.productlist.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductQuery#normalize}, which runs once per listing request before any data access.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductQueryNormalizeBenchmark {
+
+    private final ProductQuery defaults = new ProductQuery(null, null, null, 1, 20);
+    private final ProductQuery search = new ProductQuery(
+            "  Wireless HEADPHONES ", UUID.fromString("8a3f2c1e-0d4b-4e6a-9c7b-2f1e0d3c4b5a"),
+            ProductQuery.Sort.relevance, 3, 500);
+
+    @Benchmark
+    public ProductQuery defaults() {
+        return ProductQuery.normalize(defaults);
+    }
+
+    @Benchmark
+    public ProductQuery searchWithClamping() {
+        return ProductQuery.normalize(search);
+    }
+}
@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Runs listing-load.js against the backend twice, once on platform threads and once on virtual
+# threads, and keeps the k6 summaries side by side.
+#
+# Requires Java 21, k6 and a running Postgres configured as in application.yml.
+#
+#   ./perf/compare-threading.sh            # from backend/
+#   VUS=400 DURATION=120s ./perf/compare-threading.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-8080}
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-8081}
+VUS=${VUS:-200}
+DURATION=${DURATION:-60s}
+OUT=${OUT:-target/perf}
+
+mvn -B -q -Pjava21 -DskipTests package
+JAR=$(ls target/product-list-*-exec.jar | head -n 1)
+mkdir -p "$OUT"
+
+# Kept next to the results: numbers only compare on the same machine, JDK and load settings.
+{ java -version 2>&1; k6 version; echo "cpus: $(nproc)"; uname -srm; echo "vus: $VUS duration: $DURATION"; } \
+  > "$OUT/threading-environment.txt"
+
+run() {
+  local mode=$1 enabled=$2
+  echo "== $mode threads"
+  VIRTUAL_THREADS_ENABLED=$enabled java \
+    -Djdk.tracePinnedThreads=short \
+    -jar "$JAR" --server.port="$PORT" --management.server.port="$MANAGEMENT_PORT" > "$OUT/$mode-app.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+
+  until curl -sf "http://localhost:$MANAGEMENT_PORT/actuator/health" > /dev/null; do sleep 1; done
+
+  # Warm-up pass so JIT and the connection pool are settled before measuring.
+  k6 run -q -e BASE_URL="http://localhost:$PORT" -e VUS=20 -e DURATION=15s perf/listing-load.js > /dev/null
+  k6 run -e BASE_URL="http://localhost:$PORT" -e VUS="$VUS" -e DURATION="$DURATION" \
+    --summary-export "$OUT/$mode-summary.json" perf/listing-load.js | tee "$OUT/$mode-k6.txt"
+  # Server-side view of the same run: listing timers by query shape and Hikari acquire times.
+  curl -sf "http://localhost:$MANAGEMENT_PORT/actuator/prometheus" \
+    | grep -E '^(catalog_listing|hikaricp_connections)' > "$OUT/$mode-metrics.txt" || true
+
+  kill $pid
+  wait $pid 2>/dev/null || true
+  trap - EXIT
+}
+
+run platform false
+run virtual true
+
+echo
+echo "mode      req/s     p50(ms)   p95(ms)   p99(ms)   failed"
+for mode in platform virtual; do
+  jq -r --arg mode "$mode" '
+    [$mode,
+     (.metrics.http_reqs.rate | floor),
+     (.metrics.http_req_duration["p(50)"] | floor),
+     (.metrics.http_req_duration["p(95)"] | floor),
+     (.metrics.http_req_duration["p(99)"] | floor),
+     (.metrics.http_req_failed.value * 100 | tostring + "%")] | @tsv' "$OUT/$mode-summary.json"
+done | column -t
+
+echo
+echo "Pinned virtual threads reported by -Djdk.tracePinnedThreads:"
+grep -c "<== monitors" "$OUT/virtual-app.log" || true
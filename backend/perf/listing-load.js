@@ -0,0 +1,34 @@
+// k6 load profile for the product listing.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=200 -e DURATION=60s listing-load.js
+//
+// Every iteration lists one page with a mix of sorts, searches and page numbers, so most requests
+// block on Postgres rather than being answered from a cache.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TERMS = ['', 'a', 'e', 'pro', 'max', 'lamp', 'shirt'];
+const SORTS = ['name_asc', 'price_asc', 'relevance'];
+
+export const options = {
+  scenarios: {
+    burst: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 200),
+      duration: __ENV.DURATION || '60s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+  const q = TERMS[Math.floor(Math.random() * TERMS.length)];
+  const sort = SORTS[Math.floor(Math.random() * SORTS.length)];
+  const page = 1 + Math.floor(Math.random() * 5);
+  const res = http.get(`${BASE_URL}/api/v1/products?q=${q}&sort=${sort}&page=${page}&pageSize=20`);
+  check(res, {
+    'status is 200': (r) => r.status === 200,
+    'status is not 5xx': (r) => r.status < 500,
+  });
+}
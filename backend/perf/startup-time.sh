@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Measures cold start of the default build against the fast-start build (Spring AOT + AppCDS +
+# deferred initialization): time from launching the JVM until the first listing returns 200, and
+# until the readiness probe reports UP.
+#
+# Requires curl and a running Postgres configured as in application.yml, already migrated.
+#
+#   ./perf/startup-time.sh            # from backend/
+#   RUNS=10 ./perf/startup-time.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-8080}
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-8081}
+RUNS=${RUNS:-5}
+OUT=${OUT:-target/perf}
+
+mkdir -p "$OUT"
+# Kept next to the results: start times only compare on the same machine, JDK and disk.
+{ java -version 2>&1; echo "cpus: $(nproc)"; uname -srm; echo "runs: $RUNS"; } > "$OUT/startup-environment.txt"
+mvn -B -q -DskipTests package
+cp "$(ls target/product-list-*-exec.jar | head -n 1)" "$OUT/default.jar"
+mvn -B -q -Pfast-start -DskipTests package
+THIN_JAR=$(ls target/product-list-*.jar | grep -v -- '-exec.jar' | head -n 1)
+
+now_ms() { date +%s%3N; }
+
+# Polls $1 every 20 ms and prints the milliseconds elapsed since $2 once it answers with 2xx.
+wait_for() {
+  local url=$1 start=$2
+  until curl -sf -o /dev/null "$url"; do sleep 0.02; done
+  echo $(( $(now_ms) - start ))
+}
+
+measure() {
+  local mode=$1; shift
+  for run in $(seq 1 "$RUNS"); do
+    local start log pid listing ready
+    log="$OUT/startup-$mode-$run.log"
+    start=$(now_ms)
+    "$@" --server.port="$PORT" --management.server.port="$MANAGEMENT_PORT" > "$log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    listing=$(wait_for "http://localhost:$PORT/api/v1/products?pageSize=1" "$start")
+    ready=$(wait_for "http://localhost:$MANAGEMENT_PORT/actuator/health/readiness" "$start")
+    echo "$mode $run $listing $ready" >> "$OUT/startup-times.txt"
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+  done
+}
+
+rm -f "$OUT/startup-times.txt"
+measure default java -jar "$OUT/default.jar"
+measure fast-start java -XX:SharedArchiveFile=target/product-list.jsa -Dspring.aot.enabled=true \
+  -Dspring.profiles.active=fast-start -jar "$THIN_JAR"
+
+# Median of column $2 for mode $1.
+median() {
+  awk -v mode="$1" -v col="$2" '$1 == mode { print $col }' "$OUT/startup-times.txt" \
+    | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+echo
+for mode in default fast-start; do
+  echo "$mode $(median "$mode" 3) $(median "$mode" 4)"
+done | (echo "mode first-listing-p50(ms) ready-p50(ms)"; cat) | column -t
@@ -0,0 +1,35 @@
+package com.specit.productlist.reactive;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Reactive counterpart of {@code CorrelationIdFilter}. There is no thread to bind an MDC to, so the
+ * id is kept as an exchange attribute.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdWebFilter implements WebFilter {
+
+    public static final String HEADER_NAME = "X-Correlation-Id";
+    public static final String ATTRIBUTE = CorrelationIdWebFilter.class.getName() + ".correlationId";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String correlationId = exchange.getRequest().getHeaders().getFirst(HEADER_NAME);
+        if (correlationId == null || correlationId.isBlank()) {
+            correlationId = UUID.randomUUID().toString();
+        }
+
+        exchange.getAttributes().put(ATTRIBUTE, correlationId);
+        exchange.getResponse().getHeaders().set(HEADER_NAME, correlationId);
+        return chain.filter(exchange);
+    }
+}
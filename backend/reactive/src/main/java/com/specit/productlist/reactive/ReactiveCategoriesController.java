@@ -0,0 +1,66 @@
+package com.specit.productlist.reactive;
+
+import com.specit.productlist.api.dto.CategoryDto;
+import com.specit.productlist.service.CategoryCacheProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@code /api/v1/categories} with the entity tag of the blocking {@code CategoryService}, so a tag
+ * issued by either application revalidates against the other.
+ */
+@RestController
+@RequestMapping("/api/v1/categories")
+public class ReactiveCategoriesController {
+
+    private final DatabaseClient databaseClient;
+    private final CacheControl cacheControl;
+
+    public ReactiveCategoriesController(DatabaseClient databaseClient, CategoryCacheProperties cacheProperties) {
+        this.databaseClient = databaseClient;
+        this.cacheControl = CacheControl.maxAge(cacheProperties.maxAge()).cachePublic().mustRevalidate();
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<CategoryDto>>> listCategories(ServerWebExchange exchange) {
+        return currentEtag().flatMap(etag -> {
+            if (exchange.checkNotModified(etag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(cacheControl)
+                        .<List<CategoryDto>>build());
+            }
+            return databaseClient.sql("SELECT id, name FROM categories ORDER BY name")
+                    .map((row, metadata) -> new CategoryDto(row.get("id", UUID.class), row.get("name", String.class)))
+                    .all()
+                    .collectList()
+                    .map(categories -> ResponseEntity.ok()
+                            .eTag(etag)
+                            .cacheControl(cacheControl)
+                            .body(categories));
+        });
+    }
+
+    private Mono<String> currentEtag() {
+        return databaseClient.sql("SELECT max(updated_at) AS max_updated_at, count(*) AS total FROM categories")
+                .map((row, metadata) -> {
+                    OffsetDateTime maxUpdatedAt = row.get("max_updated_at", OffsetDateTime.class);
+                    Instant at = maxUpdatedAt == null ? null : maxUpdatedAt.toInstant();
+                    long micros = at == null ? 0 : at.getEpochSecond() * 1_000_000 + at.getNano() / 1_000;
+                    return "\"" + Long.toHexString(micros) + "-" + row.get("total", Long.class) + "\"";
+                })
+                .one();
+    }
+}
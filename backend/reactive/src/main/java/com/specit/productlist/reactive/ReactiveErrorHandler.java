@@ -0,0 +1,53 @@
+package com.specit.productlist.reactive;
+
+import com.specit.productlist.api.dto.ErrorResponseDto;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Same status codes and error bodies as the blocking {@code ErrorHandler}.
+ */
+@RestControllerAdvice
+public class ReactiveErrorHandler {
+
+    @ExceptionHandler({
+            ConstraintViolationException.class,
+            HandlerMethodValidationException.class,
+            ServerWebInputException.class,
+            IllegalArgumentException.class
+    })
+    public ResponseEntity<ErrorResponseDto> handleBadRequest(Exception ex, ServerWebExchange exchange) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(error("BAD_REQUEST", "Invalid request parameters", exchange));
+    }
+
+    /**
+     * The database could not be reached or did not answer in time: load shedding rather than a fault.
+     */
+    @ExceptionHandler({DataAccessResourceFailureException.class, QueryTimeoutException.class})
+    public ResponseEntity<ErrorResponseDto> handleUnavailable(Exception ex, ServerWebExchange exchange) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error("SERVICE_UNAVAILABLE", "Service is busy, retry shortly", exchange));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDto> handleGeneric(Exception ex, ServerWebExchange exchange) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(error("INTERNAL_ERROR", "Unexpected server error", exchange));
+    }
+
+    private static ErrorResponseDto error(String code, String message, ServerWebExchange exchange) {
+        String correlationId = exchange.getAttribute(CorrelationIdWebFilter.ATTRIBUTE);
+        return new ErrorResponseDto(new ErrorResponseDto.ErrorBody(code, message, correlationId));
+    }
+}
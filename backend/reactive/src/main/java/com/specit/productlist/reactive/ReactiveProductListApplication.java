@@ -0,0 +1,20 @@
+package com.specit.productlist.reactive;
+
+import com.specit.productlist.service.CategoryCacheProperties;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+/**
+ * Non-blocking variant of the listing API: {@code /api/v1/products} and {@code /api/v1/categories}
+ * on WebFlux and R2DBC, against the schema the main application migrates. Shares query
+ * normalization, cursors and DTOs with the main application, so both serve the same contract.
+ */
+@SpringBootApplication
+@EnableConfigurationProperties(CategoryCacheProperties.class)
+public class ReactiveProductListApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveProductListApplication.class, args);
+    }
+}
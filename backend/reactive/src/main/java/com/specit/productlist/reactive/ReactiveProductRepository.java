@@ -0,0 +1,126 @@
+package com.specit.productlist.reactive;
+
+import com.specit.productlist.api.dto.CategoryDto;
+import com.specit.productlist.api.dto.MoneyDto;
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.repository.ProductColumns;
+import com.specit.productlist.repository.ProductWindowRow;
+import com.specit.productlist.repository.SearchPatterns;
+import com.specit.productlist.service.ProductCursor;
+import com.specit.productlist.service.ProductQuery;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Listing reads over R2DBC, with the same filters and orderings as the JPA listing: available
+ * products only, optional category and case-insensitive name search, {@code id} as the final
+ * tie-breaker, names in {@code NameCollation} order, and prices ascending by their normalized
+ * {@code price_sort_amount} with unpriced products last.
+ */
+@Repository
+public class ReactiveProductRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveProductRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Up to {@code limit} products of {@code query} in its sort order, skipping {@code offset} rows,
+     * or seeking past {@code after} when it is not null. Each row carries the price sort key it was
+     * ordered by, for building the next cursor.
+     */
+    public Flux<ProductWindowRow> findWindow(ProductQuery query, ProductCursor after, long offset, int limit) {
+        Map<String, Object> binds = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(ProductColumns.COLUMNS)
+                .append(" FROM products p LEFT JOIN categories c ON c.id = p.category_id");
+        where(sql, query, binds);
+        if (after != null) {
+            seekAfter(sql, after, binds);
+        }
+        sql.append(switch (query.sort()) {
+            case price_asc -> " ORDER BY p.price_sort_amount, p.name COLLATE \"C\", p.id";
+            case relevance -> " ORDER BY similarity(lower(p.name), :term) DESC, p.name COLLATE \"C\", p.id";
+            case name_asc -> " ORDER BY p.name COLLATE \"C\", p.id";
+        });
+        if (query.sort() == ProductQuery.Sort.relevance) {
+            binds.put("term", query.q());
+        }
+        sql.append(" LIMIT :limit OFFSET :offset");
+        binds.put("limit", limit);
+        binds.put("offset", offset);
+
+        return databaseClient.sql(sql.toString())
+                .bindValues(binds)
+                .map((row, metadata) -> new ProductWindowRow(
+                        toDto(row), row.get("price_sort_amount", BigDecimal.class)))
+                .all();
+    }
+
+    public Mono<Long> countMatching(ProductQuery query) {
+        Map<String, Object> binds = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT count(*) FROM products p");
+        where(sql, query, binds);
+
+        return databaseClient.sql(sql.toString())
+                .bindValues(binds)
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static void where(StringBuilder sql, ProductQuery query, Map<String, Object> binds) {
+        sql.append(" WHERE p.is_available");
+        if (query.categoryId() != null) {
+            sql.append(" AND p.category_id = :categoryId");
+            binds.put("categoryId", query.categoryId());
+        }
+        if (query.q() != null) {
+            sql.append(" AND lower(p.name) LIKE :pattern ESCAPE '").append(SearchPatterns.ESCAPE).append("'");
+            binds.put("pattern", SearchPatterns.contains(query.q()));
+        }
+    }
+
+    /**
+     * Same predicate as the JPA scroll: {@code (sortKey, name, id)} after the cursor, where a null
+     * cursor price only seeks within the unpriced tail.
+     */
+    private static void seekAfter(StringBuilder sql, ProductCursor after, Map<String, Object> binds) {
+        binds.put("afterName", after.name());
+        binds.put("afterId", after.id());
+        String afterName = "(p.name COLLATE \"C\", p.id) > (:afterName, :afterId)";
+        if (after.sort() != ProductQuery.Sort.price_asc) {
+            sql.append(" AND ").append(afterName);
+        } else if (after.price() == null) {
+            sql.append(" AND p.price_sort_amount IS NULL AND ").append(afterName);
+        } else {
+            sql.append(" AND (p.price_sort_amount > :afterPrice OR (p.price_sort_amount = :afterPrice AND ")
+                    .append(afterName)
+                    .append(") OR p.price_sort_amount IS NULL)");
+            binds.put("afterPrice", after.price());
+        }
+    }
+
+    private static ProductDto toDto(Row row) {
+        BigDecimal amount = row.get("price_amount", BigDecimal.class);
+        UUID categoryId = row.get("category_id", UUID.class);
+
+        return new ProductDto(
+                row.get("id", UUID.class),
+                row.get("name", String.class),
+                row.get("description_summary", String.class),
+                row.get("image_url", String.class),
+                amount == null ? null : new MoneyDto(amount, row.get("price_currency", String.class)),
+                Boolean.TRUE.equals(row.get("is_available", Boolean.class)),
+                categoryId == null ? null : new CategoryDto(categoryId, row.get("category_name", String.class))
+        );
+    }
+}
@@ -0,0 +1,111 @@
+package com.specit.productlist.reactive;
+
+import com.specit.productlist.api.dto.ProductCursorPageDto;
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.api.dto.ProductListResponseDto;
+import com.specit.productlist.repository.ProductWindowRow;
+import com.specit.productlist.service.CountMode;
+import com.specit.productlist.service.ProductCursor;
+import com.specit.productlist.service.ProductQuery;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+public class ReactiveProductService {
+
+    private final ReactiveProductRepository productRepository;
+
+    public ReactiveProductService(ReactiveProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Runs the page query and, unless {@code countMode} is {@link CountMode#none}, the count query
+     * concurrently on two pooled connections. {@link CountMode#estimated} is served with an exact count.
+     */
+    public Mono<ProductListResponseDto> listAvailableProducts(ProductQuery query, CountMode countMode) {
+        ProductQuery normalized = ProductQuery.normalize(query);
+        long offset = (long) (normalized.page() - 1) * normalized.pageSize();
+
+        // One extra row tells whether a next page exists.
+        Mono<List<ProductDto>> window = productRepository
+                .findWindow(normalized, null, offset, normalized.pageSize() + 1)
+                .map(ProductWindowRow::product)
+                .collectList();
+        if (countMode == CountMode.none) {
+            return window.map(rows -> page(normalized, offset, rows, null));
+        }
+        return Mono.zip(window, productRepository.countMatching(normalized))
+                .map(result -> page(normalized, offset, result.getT1(), result.getT2()));
+    }
+
+    /**
+     * Keyset variant of {@link #listAvailableProducts}; never counts. {@code query.page()} is ignored.
+     */
+    public Mono<ProductCursorPageDto> scrollAvailableProducts(ProductQuery query, String cursor) {
+        ProductQuery normalized = ProductQuery.normalize(query);
+        if (normalized.sort() == ProductQuery.Sort.relevance) {
+            return Mono.error(new IllegalArgumentException("Cursor pagination does not support relevance sort"));
+        }
+
+        ProductCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = ProductCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return Mono.error(e);
+            }
+            if (after.sort() != normalized.sort()) {
+                return Mono.error(new IllegalArgumentException("Cursor was issued for sort " + after.sort()));
+            }
+        }
+
+        return productRepository.findWindow(normalized, after, 0, normalized.pageSize() + 1)
+                .collectList()
+                .map(rows -> {
+                    boolean hasMore = rows.size() > normalized.pageSize();
+                    List<ProductWindowRow> page = hasMore ? rows.subList(0, normalized.pageSize()) : rows;
+                    ProductWindowRow last = hasMore ? page.get(page.size() - 1) : null;
+                    String next = last == null
+                            ? null
+                            : ProductCursor.after(normalized.sort(), last.product(), last.priceSortAmount()).encode();
+                    List<ProductDto> items = page.stream().map(ProductWindowRow::product).toList();
+                    return new ProductCursorPageDto(items, normalized.pageSize(), next);
+                });
+    }
+
+    /**
+     * @param count exact count of matching products, or null when none was run; the total is then
+     *              exact only if the page shows it is the last one
+     */
+    private static ProductListResponseDto page(ProductQuery query, long offset, List<ProductDto> rows, Long count) {
+        boolean hasNext = rows.size() > query.pageSize();
+        List<ProductDto> items = hasNext ? rows.subList(0, query.pageSize()) : rows;
+        long seen = offset + items.size();
+
+        long total;
+        boolean exact;
+        if (count != null) {
+            total = count;
+            exact = true;
+        } else if (!hasNext && (!items.isEmpty() || offset == 0)) {
+            total = seen;
+            exact = true;
+        } else {
+            total = hasNext ? seen + 1 : seen;
+            exact = false;
+        }
+
+        return new ProductListResponseDto(
+                items,
+                query.page(),
+                query.pageSize(),
+                total,
+                (int) Math.ceil((double) total / query.pageSize()),
+                exact,
+                hasNext
+        );
+    }
+}
@@ -0,0 +1,95 @@
+package com.specit.productlist.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.specit.productlist.api.ListingFormats;
+import com.specit.productlist.api.dto.ProductCursorPageDto;
+import com.specit.productlist.api.dto.ProductListResponseDto;
+import com.specit.productlist.service.CountMode;
+import com.specit.productlist.service.ProductQuery;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+/**
+ * Listing and cursor scroll of {@code /api/v1/products}, with the parameters and bodies of the
+ * blocking {@code ProductsController}.
+ */
+@RestController
+@RequestMapping("/api/v1/products")
+@Validated
+public class ReactiveProductsController {
+
+    private final ReactiveProductService productService;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+
+    public ReactiveProductsController(
+            ReactiveProductService productService,
+            ObjectMapper objectMapper,
+            Jackson2ObjectMapperBuilder objectMapperBuilder
+    ) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+    }
+
+    /**
+     * Body is a {@link ProductListResponseDto} encoded as JSON, or as CBOR when the client prefers
+     * {@code application/cbor}. Encoded here rather than by a registered codec, which would make CBOR
+     * the answer to {@code Accept: *}{@code /*} on every other endpoint.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> listProducts(
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "categoryId", required = false) UUID categoryId,
+            @RequestParam(name = "sort", required = false) ProductQuery.Sort sort,
+            @RequestParam(name = "page", required = false, defaultValue = "1") @Min(1) int page,
+            @RequestParam(name = "pageSize", required = false, defaultValue = "20") @Min(1) @Max(200) int pageSize,
+            @RequestParam(name = "count", required = false) CountMode count,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        boolean cbor = ListingFormats.prefersCbor(accept);
+        return productService.listAvailableProducts(new ProductQuery(q, categoryId, sort, page, pageSize), count)
+                .map(response -> ResponseEntity.ok()
+                        .contentType(cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                        .body(serialize(response, cbor ? cborMapper : objectMapper)));
+    }
+
+    /**
+     * Cursor mode, selected by the presence of {@code cursor}; an empty value starts at the first item.
+     */
+    @GetMapping(params = "cursor")
+    public Mono<ProductCursorPageDto> scrollProducts(
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "categoryId", required = false) UUID categoryId,
+            @RequestParam(name = "sort", required = false) ProductQuery.Sort sort,
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "pageSize", required = false, defaultValue = "20") @Min(1) @Max(200) int pageSize
+    ) {
+        return productService.scrollAvailableProducts(new ProductQuery(q, categoryId, sort, 1, pageSize), cursor);
+    }
+
+    private static byte[] serialize(Object response, ObjectMapper mapper) {
+        try {
+            return mapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
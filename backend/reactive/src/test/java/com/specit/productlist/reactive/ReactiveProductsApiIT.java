@@ -0,0 +1,298 @@
+package com.specit.productlist.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.specit.productlist.api.dto.ProductCursorPageDto;
+import com.specit.productlist.api.dto.ProductDto;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the reactive endpoints against the schema of the main application's Flyway migrations and
+ * checks them against the fields, status codes and headers of {@code openapi.yaml}, with the listing
+ * assertions of the blocking {@code ProductsApiIT} that apply to this application.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class ReactiveProductsApiIT {
+
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("product_list")
+            .withUsername("postgres")
+            .withPassword("postgres");
+
+    static {
+        POSTGRES.start();
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @DynamicPropertySource
+    static void registerProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://%s:%d/%s".formatted(
+                POSTGRES.getHost(), POSTGRES.getFirstMappedPort(), POSTGRES.getDatabaseName()));
+        registry.add("spring.r2dbc.username", POSTGRES::getUsername);
+        registry.add("spring.r2dbc.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    private UUID tools;
+
+    @BeforeEach
+    void seed() {
+        databaseClient.sql("DELETE FROM products").then().block();
+        databaseClient.sql("DELETE FROM categories").then().block();
+        tools = databaseClient.sql("INSERT INTO categories (name) VALUES ('Tools') RETURNING id")
+                .map((row, metadata) -> row.get("id", UUID.class))
+                .one()
+                .block();
+
+        saveProduct("Hammer", "12.00", tools, true);
+        saveProduct("Claw hammer", "18.50", tools, true);
+        saveProduct("Anvil", null, null, true);
+        saveProduct("Saw", "9.00", tools, true);
+        saveProduct("Old hammer", "3.00", tools, false);
+    }
+
+    @Test
+    void listsAvailableProductsWithTheContractFields() {
+        webTestClient.get().uri("/api/v1/products?pageSize=2&sort=price_asc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("X-Correlation-Id")
+                .expectBody()
+                .jsonPath("$.items[*].name").value(contains("Saw", "Hammer"))
+                .jsonPath("$.items[0].price.amount").isEqualTo(9.0)
+                .jsonPath("$.items[0].price.currency").isEqualTo("USD")
+                .jsonPath("$.items[0].category.name").isEqualTo("Tools")
+                .jsonPath("$.page").isEqualTo(1)
+                .jsonPath("$.pageSize").isEqualTo(2)
+                .jsonPath("$.totalItems").isEqualTo(4)
+                .jsonPath("$.totalPages").isEqualTo(2)
+                .jsonPath("$.totalItemsExact").isEqualTo(true)
+                .jsonPath("$.hasNext").isEqualTo(true);
+    }
+
+    @Test
+    void filtersBySearchTermAndCategory() {
+        webTestClient.get().uri("/api/v1/products?q=%20HAMMER&categoryId={id}&sort=relevance&count=none", tools)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[*].name").value(contains("Hammer", "Claw hammer"))
+                .jsonPath("$.totalItems").isEqualTo(2)
+                .jsonPath("$.totalItemsExact").isEqualTo(true);
+    }
+
+    @Test
+    void listsOnlyAvailableProducts() {
+        webTestClient.get().uri("/api/v1/products")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[*].name").value(containsInAnyOrder("Anvil", "Claw hammer", "Hammer", "Saw"))
+                .jsonPath("$.page").isEqualTo(1)
+                .jsonPath("$.pageSize").isEqualTo(20);
+    }
+
+    @Test
+    void returnsEmptyItemsWhenNoAvailableProducts() {
+        databaseClient.sql("DELETE FROM products").then().block();
+
+        webTestClient.get().uri("/api/v1/products")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items").value(hasSize(0))
+                .jsonPath("$.totalItems").isEqualTo(0);
+    }
+
+    @Test
+    void searchTreatsLikeWildcardsLiterally() {
+        saveProduct("100% Cotton Tee", null, null, true);
+        saveProduct("100 Cotton Tee", null, null, true);
+
+        webTestClient.get().uri("/api/v1/products?q={q}", "100%")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[*].name").value(contains("100% Cotton Tee"));
+    }
+
+    @Test
+    void countNoneReportsLowerBoundAndHasNext() {
+        webTestClient.get().uri("/api/v1/products?count=none&pageSize=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items").value(hasSize(2))
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.totalItemsExact").isEqualTo(false)
+                .jsonPath("$.totalItems").isEqualTo(3);
+
+        webTestClient.get().uri("/api/v1/products?count=none&page=2&pageSize=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.hasNext").isEqualTo(false)
+                .jsonPath("$.totalItemsExact").isEqualTo(true)
+                .jsonPath("$.totalItems").isEqualTo(4);
+    }
+
+    @Test
+    void scrollsWithCursors() {
+        webTestClient.get().uri("/api/v1/products?cursor=&pageSize=3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[*].name").value(contains("Anvil", "Claw hammer", "Hammer"))
+                .jsonPath("$.nextCursor").exists()
+                .jsonPath("$.totalItems").doesNotExist();
+
+        ProductCursorPageDto first = scroll("name_asc", "", 3);
+        ProductCursorPageDto second = scroll("name_asc", first.nextCursor(), 3);
+
+        assertEquals(List.of("Saw"), names(second));
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void scrollsPricesInOrderIntoTheUnpricedTail() {
+        List<String> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            ProductCursorPageDto page = scroll("price_asc", cursor, 1);
+            seen.addAll(names(page));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of("Saw", "Hammer", "Claw hammer", "Anvil"), seen);
+    }
+
+    @Test
+    void rejectsCursorIssuedForAnotherSort() {
+        String cursor = scroll("name_asc", "", 1).nextCursor();
+
+        webTestClient.get().uri("/api/v1/products?cursor={cursor}&sort=price_asc", cursor)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error.code").isEqualTo("BAD_REQUEST");
+    }
+
+    @Test
+    void listingIsEncodedAsCborWhenPreferred() throws Exception {
+        byte[] cbor = webTestClient.get().uri("/api/v1/products?q=saw")
+                .header(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectHeader().valueMatches(HttpHeaders.VARY, ".*Accept.*")
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        JsonNode body = new CBORMapper().readTree(cbor);
+        assertEquals(1, body.get("totalItems").asInt());
+        assertEquals("Saw", body.get("items").get(0).get("name").asText());
+
+        webTestClient.get().uri("/api/v1/products?q=saw")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.items[0].name").isEqualTo("Saw");
+    }
+
+    @Test
+    void rejectsInvalidParametersWithTheErrorBody() {
+        webTestClient.get().uri("/api/v1/products?pageSize=500")
+                .header("X-Correlation-Id", "reactive-test")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error.code").isEqualTo("BAD_REQUEST")
+                .jsonPath("$.error.correlationId").isEqualTo("reactive-test");
+
+        webTestClient.get().uri("/api/v1/products?cursor=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void categoriesRevalidateWithTheirEntityTag() {
+        String etag = webTestClient.get().uri("/api/v1/categories")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueMatches("Cache-Control", ".*max-age=60.*")
+                .expectBody()
+                .jsonPath("$[*].name").value(contains("Tools"))
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get().uri("/api/v1/categories")
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    private ProductCursorPageDto scroll(String sort, String cursor, int pageSize) {
+        return webTestClient.get().uri("/api/v1/products?sort={sort}&cursor={cursor}&pageSize={pageSize}",
+                        sort, cursor, pageSize)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductCursorPageDto.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private static List<String> names(ProductCursorPageDto page) {
+        return page.items().stream().map(ProductDto::name).toList();
+    }
+
+    private void saveProduct(String name, String price, UUID categoryId, boolean available) {
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql("""
+                        INSERT INTO products (name, price_amount, price_currency, is_available, category_id)
+                        VALUES (:name, :price, :currency, :available, :categoryId)
+                        """)
+                .bind("name", name)
+                .bind("available", available);
+        insert = price == null
+                ? insert.bindNull("price", BigDecimal.class).bindNull("currency", String.class)
+                : insert.bind("price", new BigDecimal(price)).bind("currency", "USD");
+        insert = categoryId == null ? insert.bindNull("categoryId", UUID.class) : insert.bind("categoryId", categoryId);
+        insert.then().block();
+    }
+}
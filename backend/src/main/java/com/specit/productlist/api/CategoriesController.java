@@ -1,25 +1,44 @@
 package com.specit.productlist.api;
 
-import com.specit.productlist.api.dto.CategoryDto;
+import com.specit.productlist.service.CategoryCacheProperties;
+import com.specit.productlist.service.CategoryListing;
 import com.specit.productlist.service.CategoryService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/categories")
 public class CategoriesController {
 
     private final CategoryService categoryService;
+    private final CacheControl cacheControl;
 
-    public CategoriesController(CategoryService categoryService) {
+    public CategoriesController(CategoryService categoryService, CategoryCacheProperties cacheProperties) {
         this.categoryService = categoryService;
+        this.cacheControl = CacheControl.maxAge(cacheProperties.maxAge()).cachePublic().mustRevalidate();
     }
 
     @GetMapping
-    public List<CategoryDto> listCategories() {
-        return categoryService.listCategories();
+    public ResponseEntity<byte[]> listCategories(WebRequest request) {
+        CategoryListing listing = categoryService.cachedListing();
+
+        if (request.checkNotModified(listing.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(listing.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(listing.etag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(listing.json());
     }
 }
@@ -0,0 +1,52 @@
+package com.specit.productlist.api;
+
+import java.util.Locale;
+
+/**
+ * Reads an {@code Accept-Encoding} header the way RFC 9110 defines it, quality values included.
+ */
+public final class ContentCodings {
+
+    private ContentCodings() {
+    }
+
+    /**
+     * Whether {@code acceptEncoding} allows a gzip-coded response: {@code gzip} (or its alias
+     * {@code x-gzip}) listed with a non-zero quality, or, when it is not listed, {@code *} with one.
+     * A coding with {@code q=0} is refused, and one with an unreadable quality is treated as refused.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String member : acceptEncoding.split(",")) {
+            String[] parts = member.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality(parts));
+            } else if (coding.equals("*")) {
+                any = Math.max(any, quality(parts));
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            int eq = param.indexOf('=');
+            if (eq < 0 || !param.substring(0, eq).trim().equalsIgnoreCase("q")) {
+                continue;
+            }
+            try {
+                double q = Double.parseDouble(param.substring(eq + 1).trim());
+                return q >= 0 && q <= 1 ? q : 0;
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 1;
+    }
+}
@@ -1,20 +1,33 @@
 package com.specit.productlist.api;
 
 import com.specit.productlist.api.dto.ErrorResponseDto;
+import com.specit.productlist.infra.AdmissionRejectedException;
 import com.specit.productlist.infra.CorrelationIdFilter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.MDC;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @RestControllerAdvice
 public class ErrorHandler {
 
-    @ExceptionHandler({ConstraintViolationException.class, MethodArgumentNotValidException.class, IllegalArgumentException.class})
+    @ExceptionHandler({
+            ConstraintViolationException.class,
+            MethodArgumentNotValidException.class,
+            MissingServletRequestParameterException.class,
+            HttpMessageNotReadableException.class,
+            IllegalArgumentException.class
+    })
     public ResponseEntity<ErrorResponseDto> handleBadRequest(Exception ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponseDto(new ErrorResponseDto.ErrorBody(
@@ -24,6 +37,27 @@ public class ErrorHandler {
                 )));
     }
 
+    /**
+     * No database connection became free within the pool's connection timeout, a request gave up
+     * waiting for an identical request's result, or admission control found its limit full. These
+     * bound concurrent database work, so this is load shedding rather than a fault.
+     */
+    @ExceptionHandler({
+            CannotGetJdbcConnectionException.class,
+            CannotCreateTransactionException.class,
+            QueryTimeoutException.class,
+            AdmissionRejectedException.class
+    })
+    public ResponseEntity<ErrorResponseDto> handleUnavailable(Exception ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponseDto(new ErrorResponseDto.ErrorBody(
+                        "SERVICE_UNAVAILABLE",
+                        "Service is busy, retry shortly",
+                        correlationId()
+                )));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDto> handleGeneric(Exception ex, HttpServletRequest req) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
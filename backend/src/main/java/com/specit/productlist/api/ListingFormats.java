@@ -0,0 +1,36 @@
+package com.specit.productlist.api;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+/**
+ * Choice between the two encodings of a listing, shared by the blocking and the reactive controller so
+ * that both answer the same {@code Accept} header the same way.
+ */
+public final class ListingFormats {
+
+    private ListingFormats() {
+    }
+
+    /**
+     * Whether {@code application/cbor} is the most preferred of the listing's two encodings.
+     */
+    public static boolean prefersCbor(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON) && !type.isWildcardType()) {
+                return false;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR) && !type.isWildcardType()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
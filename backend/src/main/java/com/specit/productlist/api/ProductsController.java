@@ -1,17 +1,44 @@
 package com.specit.productlist.api;
 
+import com.specit.productlist.api.dto.BulkIngestResultDto;
+import com.specit.productlist.api.dto.ProductBatchGetRequestDto;
+import com.specit.productlist.api.dto.ProductBatchGetResponseDto;
+import com.specit.productlist.api.dto.ProductChangesDto;
+import com.specit.productlist.api.dto.ProductCursorPageDto;
+import com.specit.productlist.api.dto.ProductFacetsDto;
 import com.specit.productlist.api.dto.ProductListResponseDto;
+import com.specit.productlist.api.dto.SuggestionsDto;
+import com.specit.productlist.service.CountMode;
+import com.specit.productlist.service.ProductChangesService;
+import com.specit.productlist.service.ProductExportService;
+import com.specit.productlist.service.ProductFacetService;
+import com.specit.productlist.service.ProductIngestService;
+import com.specit.productlist.service.ProductListingCache;
+import com.specit.productlist.service.ProductLookupService;
 import com.specit.productlist.service.ProductQuery;
 import com.specit.productlist.service.ProductService;
+import com.specit.productlist.service.SuggestionIndex;
+import com.specit.productlist.service.SuggestionService;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -19,19 +46,147 @@ import java.util.UUID;
 public class ProductsController {
 
     private final ProductService productService;
+    private final ProductListingCache productListingCache;
+    private final ProductExportService productExportService;
+    private final ProductIngestService productIngestService;
+    private final ProductChangesService productChangesService;
+    private final ProductFacetService productFacetService;
+    private final ProductLookupService productLookupService;
+    private final SuggestionService suggestionService;
 
-    public ProductsController(ProductService productService) {
+    public ProductsController(
+            ProductService productService,
+            ProductListingCache productListingCache,
+            ProductExportService productExportService,
+            ProductIngestService productIngestService,
+            ProductChangesService productChangesService,
+            ProductFacetService productFacetService,
+            ProductLookupService productLookupService,
+            SuggestionService suggestionService
+    ) {
         this.productService = productService;
+        this.productListingCache = productListingCache;
+        this.productExportService = productExportService;
+        this.productIngestService = productIngestService;
+        this.productChangesService = productChangesService;
+        this.productFacetService = productFacetService;
+        this.productLookupService = productLookupService;
+        this.suggestionService = suggestionService;
     }
 
+    /**
+     * Body is a {@link ProductListResponseDto}, served pre-serialized from {@link ProductListingCache}
+     * as JSON, or as CBOR when the client prefers {@code application/cbor}.
+     */
     @GetMapping
-    public ProductListResponseDto listProducts(
+    public ResponseEntity<byte[]> listProducts(
             @RequestParam(name = "q", required = false) String q,
             @RequestParam(name = "categoryId", required = false) UUID categoryId,
             @RequestParam(name = "sort", required = false) ProductQuery.Sort sort,
             @RequestParam(name = "page", required = false, defaultValue = "1") @Min(1) int page,
+            @RequestParam(name = "pageSize", required = false, defaultValue = "20") @Min(1) @Max(200) int pageSize,
+            @RequestParam(name = "count", required = false) CountMode count,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        ProductListingCache.Format format = ListingFormats.prefersCbor(accept) ? ProductListingCache.Format.cbor : ProductListingCache.Format.json;
+        return ResponseEntity.ok()
+                .contentType(format == ProductListingCache.Format.cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(productListingCache.listing(new ProductQuery(q, categoryId, sort, page, pageSize), count, format));
+    }
+
+    /**
+     * Cursor mode, selected by the presence of {@code cursor}; an empty value starts at the first item.
+     */
+    @GetMapping(params = "cursor")
+    public ProductCursorPageDto scrollProducts(
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "categoryId", required = false) UUID categoryId,
+            @RequestParam(name = "sort", required = false) ProductQuery.Sort sort,
+            @RequestParam(name = "cursor") String cursor,
             @RequestParam(name = "pageSize", required = false, defaultValue = "20") @Min(1) @Max(200) int pageSize
     ) {
-        return productService.listAvailableProducts(new ProductQuery(q, categoryId, sort, page, pageSize));
+        return productService.scrollAvailableProducts(new ProductQuery(q, categoryId, sort, 1, pageSize), cursor);
+    }
+
+    /**
+     * Category counts and price buckets of the products a listing with the same filters would show.
+     */
+    @GetMapping("/facets")
+    public ProductFacetsDto facets(
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "categoryId", required = false) UUID categoryId
+    ) {
+        return productFacetService.facets(q, categoryId);
+    }
+
+    /**
+     * Typeahead: products and categories whose name, or a word in it, starts with {@code prefix}.
+     * Served from memory only; see {@link SuggestionService}.
+     */
+    @GetMapping("/suggest")
+    public SuggestionsDto suggest(
+            @RequestParam(name = "prefix") @Size(max = 100) String prefix,
+            @RequestParam(name = "limit", required = false, defaultValue = "8") @Min(1) @Max(SuggestionIndex.MAX_LIMIT) int limit
+    ) {
+        return new SuggestionsDto(suggestionService.suggest(prefix, limit));
+    }
+
+    /**
+     * Products changed after the {@code since} watermark, including ones that became unavailable.
+     */
+    @GetMapping("/changes")
+    public ProductChangesDto listChanges(
+            @RequestParam(name = "since", required = false) String since,
+            @RequestParam(name = "limit", required = false, defaultValue = "500") @Min(1) @Max(1000) int limit
+    ) {
+        return productChangesService.changesSince(since, limit);
+    }
+
+    /**
+     * Streams every available product as NDJSON, gzip-compressed when the client accepts it.
+     */
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(name = "categoryId", required = false) UUID categoryId,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        boolean gzip = ContentCodings.acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                productExportService.exportAvailable(categoryId, compressed);
+                compressed.finish();
+            } else {
+                productExportService.exportAvailable(categoryId, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Upserts products by id from a JSON array or an NDJSON stream. Per-product and per-batch failures
+     * are reported in the result instead of failing the request.
+     */
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public BulkIngestResultDto ingestProducts(InputStream body) throws IOException {
+        return productIngestService.ingest(body);
+    }
+
+    /**
+     * Resolves up to {@code catalog.lookup.max-ids} product ids in one call, for carts and wishlists.
+     * Unknown ids are answered with {@code found: false} instead of failing the request.
+     */
+    @PostMapping(path = "/batch-get", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ProductBatchGetResponseDto batchGetProducts(@RequestBody ProductBatchGetRequestDto request) {
+        return productLookupService.lookup(request.ids());
     }
 }
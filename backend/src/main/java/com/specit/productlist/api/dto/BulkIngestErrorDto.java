@@ -0,0 +1,12 @@
+package com.specit.productlist.api.dto;
+
+/**
+ * @param item  zero-based position of the product in the request body, or null when the whole batch failed
+ * @param batch zero-based number of the batch the product was written in
+ */
+public record BulkIngestErrorDto(
+        Integer item,
+        int batch,
+        String message
+) {
+}
@@ -0,0 +1,14 @@
+package com.specit.productlist.api.dto;
+
+import java.util.List;
+
+public record BulkIngestResultDto(
+        int received,
+        int inserted,
+        int updated,
+        int unchanged,
+        int superseded,
+        int failed,
+        List<BulkIngestErrorDto> errors
+) {
+}
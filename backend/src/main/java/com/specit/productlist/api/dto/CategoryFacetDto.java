@@ -0,0 +1,6 @@
+package com.specit.productlist.api.dto;
+
+import java.util.UUID;
+
+public record CategoryFacetDto(UUID id, String name, long count) {
+}
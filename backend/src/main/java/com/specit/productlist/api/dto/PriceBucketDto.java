@@ -0,0 +1,9 @@
+package com.specit.productlist.api.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Products priced in {@code [min, max)}; a null bound leaves that side open.
+ */
+public record PriceBucketDto(BigDecimal min, BigDecimal max, long count) {
+}
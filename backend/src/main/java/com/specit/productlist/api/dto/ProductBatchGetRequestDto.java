@@ -0,0 +1,12 @@
+package com.specit.productlist.api.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @param ids product ids to resolve; duplicates are allowed and answered once per occurrence
+ */
+public record ProductBatchGetRequestDto(
+        List<UUID> ids
+) {
+}
@@ -0,0 +1,11 @@
+package com.specit.productlist.api.dto;
+
+import java.util.List;
+
+/**
+ * @param items one entry per requested id, in request order
+ */
+public record ProductBatchGetResponseDto(
+        List<ProductLookupDto> items
+) {
+}
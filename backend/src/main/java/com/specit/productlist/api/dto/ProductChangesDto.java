@@ -0,0 +1,18 @@
+package com.specit.productlist.api.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @param items     changed products in change order, unavailable ones included
+ * @param removed   ids of products deleted in this page's span of changes; never also in {@code items}
+ * @param nextToken watermark to pass as {@code since} on the next call
+ * @param hasMore   whether further changes are ready right away
+ */
+public record ProductChangesDto(
+        List<ProductDto> items,
+        List<UUID> removed,
+        String nextToken,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,10 @@
+package com.specit.productlist.api.dto;
+
+import java.util.List;
+
+public record ProductCursorPageDto(
+        List<ProductDto> items,
+        int pageSize,
+        String nextCursor
+) {
+}
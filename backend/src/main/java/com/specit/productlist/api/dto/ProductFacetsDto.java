@@ -0,0 +1,17 @@
+package com.specit.productlist.api.dto;
+
+import java.util.List;
+
+/**
+ * @param total        products matching the search term and category filter
+ * @param categories   matching products per category, ignoring the category filter itself so that
+ *                     every category can be offered; products without a category are not listed
+ * @param priceBuckets matching products per price range, in ascending order; products without a
+ *                     price are only part of {@code total}
+ */
+public record ProductFacetsDto(
+        long total,
+        List<CategoryFacetDto> categories,
+        List<PriceBucketDto> priceBuckets
+) {
+}
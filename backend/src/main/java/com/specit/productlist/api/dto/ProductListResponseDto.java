@@ -7,6 +7,8 @@ public record ProductListResponseDto(
         int page,
         int pageSize,
         long totalItems,
-        int totalPages
+        int totalPages,
+        boolean totalItemsExact,
+        boolean hasNext
 ) {
 }
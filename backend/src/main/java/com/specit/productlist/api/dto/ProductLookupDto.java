@@ -0,0 +1,15 @@
+package com.specit.productlist.api.dto;
+
+import java.util.UUID;
+
+/**
+ * @param id      the requested id
+ * @param found   whether a product with this id exists, available or not
+ * @param product the product, or {@code null} when not found
+ */
+public record ProductLookupDto(
+        UUID id,
+        boolean found,
+        ProductDto product
+) {
+}
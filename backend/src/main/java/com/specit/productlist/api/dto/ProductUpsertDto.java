@@ -0,0 +1,18 @@
+package com.specit.productlist.api.dto;
+
+import java.util.UUID;
+
+/**
+ * One product of a bulk ingest. Every field is written as given: an absent optional field clears the
+ * stored value, and an absent {@code isAvailable} means unavailable.
+ */
+public record ProductUpsertDto(
+        UUID id,
+        String name,
+        String descriptionSummary,
+        String imageUrl,
+        MoneyDto price,
+        Boolean isAvailable,
+        UUID categoryId
+) {
+}
@@ -0,0 +1,20 @@
+package com.specit.productlist.api.dto;
+
+import java.util.UUID;
+
+/**
+ * @param text display text: the product or category name as stored
+ * @param type what {@code id} refers to
+ * @param id   product id, or category id to filter a listing by
+ */
+public record SuggestionDto(
+        String text,
+        Type type,
+        UUID id
+) {
+
+    public enum Type {
+        category,
+        product
+    }
+}
@@ -0,0 +1,11 @@
+package com.specit.productlist.api.dto;
+
+import java.util.List;
+
+/**
+ * @param items suggestions for the prefix, best first
+ */
+public record SuggestionsDto(
+        List<SuggestionDto> items
+) {
+}
@@ -0,0 +1,109 @@
+package com.specit.productlist.infra;
+
+import com.specit.productlist.service.RequestTiming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive admission control for the catalog reads, with one {@link AimdLimiter} per {@link Group}
+ * so that slow searches cannot starve plain listings or the category list. A request queues for
+ * at most {@code maxWait} and is then rejected with an {@link AdmissionRejectedException}, which
+ * {@code ErrorHandler} turns into a 503 with {@code Retry-After}.
+ *
+ * <p>This is an MVC interceptor rather than a servlet filter so that rejections go through the
+ * same exception handling, and error body, as every other failure. Endpoints outside the groups,
+ * health checks included, are never limited.
+ * Publishes {@code catalog.admission.limit}, {@code catalog.admission.in_flight} and
+ * {@code catalog.admission.rejected}, all tagged with {@code group}.
+ */
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    /**
+     * Requests sharing a concurrency limit.
+     */
+    public enum Group {
+        search,
+        listing,
+        categories
+    }
+
+    private final AdmissionControlProperties properties;
+    private final Map<Group, AimdLimiter> limiters = new EnumMap<>(Group.class);
+    private final Map<Group, Counter> rejections = new EnumMap<>(Group.class);
+
+    public AdmissionControlInterceptor(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        limiters.put(Group.search, new AimdLimiter(properties.search(), properties.backoffRatio()));
+        limiters.put(Group.listing, new AimdLimiter(properties.listing(), properties.backoffRatio()));
+        limiters.put(Group.categories, new AimdLimiter(properties.categories(), properties.backoffRatio()));
+
+        limiters.forEach((group, limiter) -> {
+            Gauge.builder("catalog.admission.limit", limiter, AimdLimiter::limit)
+                    .description("Current concurrency limit")
+                    .tag("group", group.name())
+                    .register(meterRegistry);
+            Gauge.builder("catalog.admission.in_flight", limiter, AimdLimiter::inFlight)
+                    .description("Requests currently holding a slot")
+                    .tag("group", group.name())
+                    .register(meterRegistry);
+            rejections.put(group, Counter.builder("catalog.admission.rejected")
+                    .description("Requests shed because the concurrency limit was reached")
+                    .tag("group", group.name())
+                    .register(meterRegistry));
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        if (!properties.enabled() || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        Group group = classify(request);
+        AimdLimiter limiter = limiters.get(group);
+        long waitStarted = RequestTiming.start();
+        boolean admitted = limiter.tryAcquire(properties.maxWait());
+        RequestTiming.record(RequestTiming.Stage.admission, waitStarted);
+        if (!admitted) {
+            rejections.get(group).increment();
+            throw new AdmissionRejectedException(group);
+        }
+        request.setAttribute(PERMIT, new Permit(limiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof Permit permit) {
+            request.removeAttribute(PERMIT);
+            boolean overloaded = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+            permit.limiter().release(System.nanoTime() - permit.startedAt(), TimeUnit.NANOSECONDS, overloaded);
+        }
+    }
+
+    private static Group classify(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith("/api/v1/categories")) {
+            return Group.categories;
+        }
+        String q = request.getParameter("q");
+        return q == null || q.isBlank() ? Group.listing : Group.search;
+    }
+
+    private record Permit(AimdLimiter limiter, long startedAt) {
+    }
+}
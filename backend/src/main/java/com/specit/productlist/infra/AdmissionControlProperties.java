@@ -0,0 +1,39 @@
+package com.specit.productlist.infra;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled      whether listing, search and category requests pass through their concurrency limits
+ * @param maxWait      how long a request may queue for a free slot before it is rejected with 503
+ * @param backoffRatio factor applied to a limit after a slow or overloaded response
+ * @param search       limit for product listings with a search term, and facets with one
+ * @param listing      limit for product listings, scrolls and facets without a search term
+ * @param categories   limit for the category list
+ */
+@ConfigurationProperties("catalog.admission")
+public record AdmissionControlProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("PT0.05S") Duration maxWait,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue Limit search,
+        @DefaultValue Limit listing,
+        @DefaultValue Limit categories
+) {
+
+    /**
+     * @param initial          concurrency allowed at startup
+     * @param min              floor the limit never backs off below
+     * @param max              ceiling the limit never grows above
+     * @param latencyThreshold response time above which a request counts as a sign of overload
+     */
+    public record Limit(
+            @DefaultValue("20") int initial,
+            @DefaultValue("2") int min,
+            @DefaultValue("100") int max,
+            @DefaultValue("PT0.5S") Duration latencyThreshold
+    ) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.specit.productlist.infra;
+
+/**
+ * A request found its concurrency limit full and no slot freed up within the allowed wait.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    public AdmissionRejectedException(AdmissionControlInterceptor.Group group) {
+        super("Concurrency limit for " + group + " requests reached");
+    }
+}
@@ -0,0 +1,97 @@
+package com.specit.productlist.infra;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit adjusted by additive increase, multiplicative decrease. Each finished request
+ * is a sample: a fast one grows the limit by one while the limit is actually being used, a slow or
+ * overloaded one shrinks it by the backoff ratio. The limit therefore settles just below the
+ * concurrency at which latency starts to climb, and drops quickly when the database slows down.
+ *
+ * <p>Uses a {@link ReentrantLock} rather than {@code synchronized} so that queued virtual threads
+ * park instead of pinning their carrier.
+ */
+final class AimdLimiter {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final int min;
+    private final int max;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    AimdLimiter(AdmissionControlProperties.Limit settings, double backoffRatio) {
+        this.min = settings.min();
+        this.max = settings.max();
+        this.latencyThresholdNanos = settings.latencyThreshold().toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(min, Math.min(max, settings.initial()));
+    }
+
+    /**
+     * Takes a slot, waiting up to {@code maxWait} for one to free up.
+     *
+     * @return whether a slot was taken; if so, {@link #release} must be called exactly once
+     */
+    boolean tryAcquire(Duration maxWait) throws InterruptedException {
+        long remaining = maxWait.toNanos();
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a slot and feeds the request's outcome into the limit.
+     *
+     * @param overloaded whether the request failed because a downstream resource was exhausted
+     */
+    void release(long latency, TimeUnit unit, boolean overloaded) {
+        lock.lock();
+        try {
+            if (overloaded || unit.toNanos(latency) > latencyThresholdNanos) {
+                limit = Math.max(min, limit * backoffRatio);
+            } else if (inFlight * 2 >= limit) {
+                // Only grow while at least half the limit is in use; an idle limit says nothing about capacity.
+                limit = Math.min(max, limit + 1);
+            }
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
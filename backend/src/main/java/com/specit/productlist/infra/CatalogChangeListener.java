@@ -0,0 +1,68 @@
+package com.specit.productlist.infra;
+
+import com.specit.productlist.model.Category;
+import com.specit.productlist.model.Product;
+import com.specit.productlist.service.CatalogVersion;
+import com.specit.productlist.service.CategoryVersion;
+import com.specit.productlist.service.ProductLookupService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * JPA entity listener that bumps {@link CatalogVersion} once a write to a catalog entity commits, and
+ * {@link CategoryVersion} too for a category write, and evicts what the write touched from the
+ * {@link ProductLookupService} cache. Doing either any earlier
+ * would let a concurrent reader re-cache the pre-commit state.
+ */
+@Component
+public class CatalogChangeListener {
+
+    private final CatalogVersion catalogVersion;
+    private final CategoryVersion categoryVersion;
+    // Resolved at commit time: Hibernate creates this listener while the EntityManagerFactory, which the
+    // lookup service's transaction manager depends on, is still being built.
+    private final ObjectProvider<ProductLookupService> productLookupService;
+
+    public CatalogChangeListener(
+            CatalogVersion catalogVersion,
+            CategoryVersion categoryVersion,
+            ObjectProvider<ProductLookupService> productLookupService
+    ) {
+        this.catalogVersion = catalogVersion;
+        this.categoryVersion = categoryVersion;
+        this.productLookupService = productLookupService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onWrite(Object entity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(entity);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed(entity);
+            }
+        });
+    }
+
+    private void committed(Object entity) {
+        catalogVersion.bump();
+        if (entity instanceof Product product) {
+            productLookupService.ifAvailable(lookup -> lookup.evict(List.of(product.getId())));
+        } else if (entity instanceof Category) {
+            categoryVersion.bump();
+            productLookupService.ifAvailable(ProductLookupService::evictAll);
+        }
+    }
+}
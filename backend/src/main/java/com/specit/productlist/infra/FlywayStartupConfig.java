@@ -0,0 +1,28 @@
+package com.specit.productlist.infra;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies {@code catalog.startup.flyway}. Validating or skipping keeps instances that do not own the
+ * schema from contending for Flyway's lock, and skipping leaves startup without a database round trip.
+ */
+@Configuration
+public class FlywayStartupConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FlywayStartupConfig.class);
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(StartupProperties properties) {
+        return flyway -> {
+            switch (properties.flyway()) {
+                case migrate -> flyway.migrate();
+                case validate -> flyway.validate();
+                case skip -> log.info("Skipping Flyway at startup (catalog.startup.flyway=skip)");
+            }
+        };
+    }
+}
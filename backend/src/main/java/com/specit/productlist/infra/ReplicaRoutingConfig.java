@@ -0,0 +1,82 @@
+package com.specit.productlist.infra;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Replaces the auto-configured data source with a primary pool, configured from
+ * {@code spring.datasource} as before, plus one pool per read replica when {@code catalog.replicas.enabled}
+ * is set.
+ *
+ * <p>The beans exist whether or not replicas are enabled, and the property is read when they are
+ * created. A {@code @ConditionalOnProperty} would be evaluated once at build time under Spring AOT and
+ * freeze replica routing off in the fast-start build. Without replicas the primary pool itself is the
+ * data source, exactly as auto-configuration would have created it, and the router has nothing to check.
+ */
+@Configuration
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties dataSourceProperties,
+            ReplicaRoutingProperties replicaProperties,
+            Environment environment,
+            MeterRegistry meterRegistry
+    ) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        if (!replicaProperties.enabled()) {
+            // Handed out as the data source bean, where Spring Boot binds its metrics like any Hikari pool.
+            return new ReplicaRoutingDataSource(primary, replicas, replicaProperties);
+        }
+
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        if (primary.getPoolName() == null) {
+            primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        }
+        primary.setMetricsTrackerFactory(metrics);
+
+        for (int i = 0; i < replicaProperties.nodes().size(); i++) {
+            ReplicaRoutingProperties.Node node = replicaProperties.nodes().get(i);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(node.url());
+            replica.setUsername(Objects.requireNonNullElse(node.username(), dataSourceProperties.determineUsername()));
+            replica.setPassword(Objects.requireNonNullElse(node.password(), dataSourceProperties.determinePassword()));
+            replica.setMaximumPoolSize(replicaProperties.poolSize());
+            replica.setConnectionTimeout(primary.getConnectionTimeout());
+            replica.setReadOnly(true);
+            // An unreachable replica must not keep the application from starting; the health check skips it.
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(metrics);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, replicaProperties);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource, ReplicaRoutingProperties replicaProperties) {
+        if (!replicaProperties.enabled()) {
+            return replicaRoutingDataSource.primary();
+        }
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,159 @@
+package com.specit.productlist.infra;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to a healthy replica and everything else to the primary.
+ *
+ * <p>The routing decision reads the transaction's read-only flag, which is only set once the
+ * transaction has begun, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that defers fetching the
+ * physical connection to the first statement.
+ *
+ * <p>Replicas are checked every {@code healthCheckInterval}. A replica that cannot be reached, is not
+ * streaming WAL from its primary, or whose replay lag exceeds {@code maxLag} is skipped until a later
+ * check passes; with no healthy replica, read-only transactions go to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Null when the standby has no WAL receiver: it replays nothing new, so "caught up" would be stale.
+    // Zero when it has replayed everything it received; otherwise the age of the last replayed commit.
+    // pg_stat_wal_receiver shows its row to any role, only the details need pg_read_all_stats.
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver) THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaRoutingProperties.Selection selection;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<Replica> healthy = List.of();
+
+    public ReplicaRoutingDataSource(
+            HikariDataSource primary,
+            Map<String, HikariDataSource> replicas,
+            ReplicaRoutingProperties properties
+    ) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream().map(e -> new Replica(e.getKey(), e.getValue())).toList();
+        this.selection = properties.selection();
+        this.maxLag = properties.maxLag();
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Replica replica = select(healthy);
+        return replica == null ? PRIMARY : replica.name();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.replicas.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        List<Replica> passing = replicas.stream().filter(this::check).toList();
+        if (passing.size() != healthy.size()) {
+            log.info("Healthy read replicas: {} of {}", passing.size(), replicas.size());
+        }
+        healthy = passing;
+    }
+
+    /**
+     * The pool that takes writes, and reads when no replica is healthy.
+     */
+    public HikariDataSource primary() {
+        return primary;
+    }
+
+    /**
+     * Names of the replicas currently receiving read-only traffic.
+     */
+    public List<String> healthyReplicas() {
+        return healthy.stream().map(Replica::name).toList();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool().close());
+        primary.close();
+    }
+
+    private Replica select(List<Replica> candidates) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        if (selection == ReplicaRoutingProperties.Selection.least_connections) {
+            return candidates.stream().min(Comparator.comparingInt(Replica::activeConnections)).orElseThrow();
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    private boolean check(Replica replica) {
+        try (Connection connection = replica.pool().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                double lagSeconds = rs.getDouble(1);
+                if (rs.wasNull()) {
+                    log.warn("Read replica {} has no WAL receiver, skipping it", replica.name());
+                    return false;
+                }
+                if (lagSeconds * 1000 > maxLag.toMillis()) {
+                    log.warn("Read replica {} lags {}s behind, skipping it", replica.name(), lagSeconds);
+                    return false;
+                }
+                return true;
+            }
+        } catch (SQLException e) {
+            log.warn("Read replica {} failed its health check: {}", replica.name(), e.getMessage());
+            return false;
+        }
+    }
+
+    private record Replica(String name, HikariDataSource pool) {
+
+        int activeConnections() {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            return mxBean == null ? 0 : mxBean.getActiveConnections();
+        }
+    }
+}
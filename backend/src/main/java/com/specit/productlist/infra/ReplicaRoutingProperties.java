@@ -0,0 +1,35 @@
+package com.specit.productlist.infra;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param enabled             route read-only transactions to {@code nodes}
+ * @param nodes               replica connection settings; username and password default to the primary's
+ * @param selection           how a replica is picked among the healthy ones
+ * @param maxLag              replay lag above which a replica is skipped
+ * @param healthCheckInterval delay between replica health and lag checks
+ * @param poolSize            connections per replica pool
+ */
+@ConfigurationProperties("catalog.replicas")
+public record ReplicaRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Node> nodes,
+        @DefaultValue("round_robin") Selection selection,
+        @DefaultValue("PT10S") Duration maxLag,
+        @DefaultValue("PT5S") Duration healthCheckInterval,
+        @DefaultValue("10") int poolSize
+) {
+
+    public record Node(String url, String username, String password) {
+    }
+
+    public enum Selection {
+        round_robin,
+        /** Fewest connections currently in use. */
+        least_connections
+    }
+}
@@ -0,0 +1,63 @@
+package com.specit.productlist.infra;
+
+import com.specit.productlist.service.RequestTiming;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the two request stage boundaries that Spring MVC owns: dispatch to the handler, and the
+ * start of body serialization. The {@code Server-Timing} header is set at the latter, the last point
+ * before the response may be committed, so it cannot include the converter's own serialization time;
+ * the slow-request log does.
+ */
+@ControllerAdvice
+public class RequestTimingAdvice implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+    private final RequestTimingProperties properties;
+
+    public RequestTimingAdvice(RequestTimingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.dispatched(System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            long now = System.nanoTime();
+            if (properties.serverTiming()) {
+                response.getHeaders().set(RequestTimingFilter.HEADER_NAME, timing.serverTiming(now));
+            }
+            timing.bodyWriteStarted(now);
+        }
+        return body;
+    }
+}
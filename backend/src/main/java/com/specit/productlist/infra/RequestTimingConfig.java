@@ -0,0 +1,22 @@
+package com.specit.productlist.infra;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class RequestTimingConfig implements WebMvcConfigurer {
+
+    private final RequestTimingAdvice requestTimingAdvice;
+
+    public RequestTimingConfig(RequestTimingAdvice requestTimingAdvice) {
+        this.requestTimingAdvice = requestTimingAdvice;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Last, so that the admission wait is over when the handler is marked as dispatched.
+        registry.addInterceptor(requestTimingAdvice).order(Ordered.LOWEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,88 @@
+package com.specit.productlist.infra;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.specit.productlist.service.RequestTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binds a {@link RequestTiming} to each request. Stages are sent in a {@code Server-Timing} header
+ * (see {@link RequestTimingAdvice}) and requests slower than {@code catalog.request-timing.slow-threshold}
+ * are logged as one JSON line. Runs right after {@link CorrelationIdFilter} so the log line carries
+ * the correlation id.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_NAME = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(RequestTimingFilter.class);
+
+    private final RequestTimingProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public RequestTimingFilter(RequestTimingProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!properties.enabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTiming.end();
+            long now = System.nanoTime();
+            timing.completed(now);
+            // Bodies written by a message converter got the header in RequestTimingAdvice already.
+            if (properties.serverTiming() && !response.isCommitted() && !response.containsHeader(HEADER_NAME)) {
+                response.setHeader(HEADER_NAME, timing.serverTiming(now));
+            }
+            if (timing.elapsedNanos(now) >= properties.slowThreshold().toNanos()) {
+                logSlowRequest(request, response, timing, now);
+            }
+        }
+    }
+
+    private void logSlowRequest(HttpServletRequest request, HttpServletResponse response, RequestTiming timing, long now) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("event", "slow_request");
+        line.put("method", request.getMethod());
+        line.put("path", request.getRequestURI());
+        line.put("query", request.getQueryString());
+        line.put("status", response.getStatus());
+        line.put("correlationId", MDC.get(CorrelationIdFilter.MDC_KEY));
+        line.put("totalMs", RequestTiming.millis(timing.elapsedNanos(now)));
+        line.put("stagesMs", timing.stageMillis());
+        try {
+            log.warn(objectMapper.writeValueAsString(line));
+        } catch (JsonProcessingException e) {
+            log.warn("Slow request {} {} could not be logged as JSON", request.getMethod(), request.getRequestURI(), e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.specit.productlist.infra;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled       time request stages
+ * @param serverTiming  send the stages to clients in a {@code Server-Timing} header
+ * @param slowThreshold requests taking at least this long are logged with their stages
+ */
+@ConfigurationProperties("catalog.request-timing")
+public record RequestTimingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("true") boolean serverTiming,
+        @DefaultValue("PT0.5S") Duration slowThreshold
+) {
+}
@@ -0,0 +1,27 @@
+package com.specit.productlist.infra;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param flyway              what Flyway does at startup
+ * @param warmUp              open the pool and run a first listing in the background before reporting ready
+ * @param warmUpRetryInterval delay between warm-up attempts while the database is unreachable
+ */
+@ConfigurationProperties("catalog.startup")
+public record StartupProperties(
+        @DefaultValue("migrate") FlywayMode flyway,
+        @DefaultValue("true") boolean warmUp,
+        @DefaultValue("PT2S") Duration warmUpRetryInterval
+) {
+
+    public enum FlywayMode {
+        migrate,
+        /** Fail startup when migrations are pending, without applying them. */
+        validate,
+        /** Leave the schema to another instance; for instances in front of a read replica. */
+        skip
+    }
+}
@@ -0,0 +1,97 @@
+package com.specit.productlist.infra;
+
+import com.specit.productlist.service.CategoryService;
+import com.specit.productlist.service.ProductQuery;
+import com.specit.productlist.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Warms the connection pool and the read path on a background thread once the application has
+ * started, so startup itself does not wait on the database. Reports {@code OUT_OF_SERVICE} until the
+ * first listing succeeds; it is part of the readiness group, so no traffic is routed here before that.
+ */
+@Component("warmUp")
+public class StartupWarmUp implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryService categoryService;
+    private final ProductService productService;
+    private final StartupProperties properties;
+
+    private volatile Instant completedAt;
+    private volatile String lastError;
+
+    public StartupWarmUp(
+            JdbcTemplate jdbcTemplate,
+            CategoryService categoryService,
+            ProductService productService,
+            StartupProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryService = categoryService;
+        this.productService = productService;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.warmUp()) {
+            completedAt = Instant.now();
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "catalog-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        Instant done = completedAt;
+        if (done != null) {
+            return Health.up().withDetail("completedAt", done).build();
+        }
+        Health.Builder pending = Health.outOfService();
+        String error = lastError;
+        if (error != null) {
+            pending.withDetail("lastError", error);
+        }
+        return pending.build();
+    }
+
+    private void warmUp() {
+        long started = System.nanoTime();
+        while (true) {
+            try {
+                // Hikari opens its pool on the first borrow.
+                jdbcTemplate.execute("SELECT 1");
+                // Blocks until a deferred JPA bootstrap has finished.
+                categoryService.listCategories();
+                productService.listAvailableProducts(new ProductQuery(null, null, null, 1, 20));
+                completedAt = Instant.now();
+                log.info("Warm-up finished in {} ms", Duration.ofNanos(System.nanoTime() - started).toMillis());
+                return;
+            } catch (RuntimeException e) {
+                lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+                log.warn("Warm-up failed, retrying in {}: {}", properties.warmUpRetryInterval(), lastError);
+            }
+            try {
+                Thread.sleep(properties.warmUpRetryInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
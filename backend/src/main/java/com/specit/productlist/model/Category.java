@@ -1,10 +1,12 @@
 package com.specit.productlist.model;
 
+import com.specit.productlist.infra.CatalogChangeListener;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.UuidGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -13,6 +15,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "categories")
 public class Category {
 
@@ -1,5 +1,6 @@
 package com.specit.productlist.model;
 
+import com.specit.productlist.infra.CatalogChangeListener;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -7,6 +8,7 @@ import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.type.SqlTypes;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
@@ -19,6 +21,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "products")
 public class Product {
 
@@ -43,6 +46,13 @@ public class Product {
     @Column(name = "price_currency", length = 3)
     private String priceCurrency;
 
+    /**
+     * Price in the base currency of {@code fx_rates}, maintained by a database trigger; null when the
+     * product is unpriced or its currency has no rate.
+     */
+    @Column(name = "price_sort_amount", insertable = false, updatable = false)
+    private BigDecimal priceSortAmount;
+
     @Column(name = "is_available", nullable = false)
     private boolean isAvailable;
 
@@ -106,6 +116,10 @@ public class Product {
         this.priceCurrency = priceCurrency;
     }
 
+    public BigDecimal getPriceSortAmount() {
+        return priceSortAmount;
+    }
+
     public boolean isAvailable() {
         return isAvailable;
     }
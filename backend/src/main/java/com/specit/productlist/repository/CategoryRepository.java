@@ -2,8 +2,13 @@ package com.specit.productlist.repository;
 
 import com.specit.productlist.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
 import java.util.UUID;
 
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
+
+    @Query("select max(c.updatedAt) from Category c")
+    Instant findMaxUpdatedAt();
 }
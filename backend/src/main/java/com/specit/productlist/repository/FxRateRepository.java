@@ -0,0 +1,77 @@
+package com.specit.productlist.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Exchange rates into the base currency, and the batched rewrite of {@code products.price_sort_amount}
+ * after one of them changed.
+ */
+@Repository
+public class FxRateRepository {
+
+    /**
+     * Walks the products of one currency in id order and rewrites the rows whose stored key no longer
+     * matches {@code normalize_price}. The key is computed from the row as it is when locked, so a
+     * concurrent price change can never be overwritten with a key derived from the old price.
+     */
+    private static final String RENORMALIZE_BATCH = """
+            WITH batch AS (
+                SELECT id FROM products
+                WHERE price_currency = ? AND id > ?
+                ORDER BY id
+                LIMIT ?
+            ), updated AS (
+                UPDATE products p
+                SET price_sort_amount = normalize_price(p.price_amount, p.price_currency)
+                FROM batch
+                WHERE p.id = batch.id
+                  AND p.price_sort_amount IS DISTINCT FROM normalize_price(p.price_amount, p.price_currency)
+                RETURNING p.id
+            )
+            SELECT (SELECT id FROM batch ORDER BY id DESC LIMIT 1) AS last_id,
+                   (SELECT count(*) FROM updated) AS updated
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FxRateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Every known rate, by currency code.
+     */
+    public Map<String, BigDecimal> findRates() {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        jdbcTemplate.query("SELECT currency, rate_to_base FROM fx_rates",
+                (RowCallbackHandler) rs -> rates.put(rs.getString(1), rs.getBigDecimal(2)));
+        return rates;
+    }
+
+    /**
+     * Re-normalizes the next {@code batchSize} products of {@code currency} after {@code afterId}.
+     */
+    public RenormalizedBatch renormalize(String currency, UUID afterId, int batchSize) {
+        return jdbcTemplate.queryForObject(
+                RENORMALIZE_BATCH,
+                (rs, rowNum) -> new RenormalizedBatch(rs.getObject("last_id", UUID.class), rs.getInt("updated")),
+                currency,
+                afterId,
+                batchSize
+        );
+    }
+
+    /**
+     * @param lastId  highest id of the batch, or null when no products were left
+     * @param updated rows whose key changed
+     */
+    public record RenormalizedBatch(UUID lastId, int updated) {
+    }
+}
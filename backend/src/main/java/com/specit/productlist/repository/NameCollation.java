@@ -0,0 +1,45 @@
+package com.specit.productlist.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+/**
+ * Collation of the product name order in listings and cursors. PostgreSQL's {@code "C"} collation
+ * compares the UTF-8 bytes of a name, which is code point order on every server whatever its locale,
+ * so the in-memory snapshot can reproduce it exactly with {@link #compare}. The listing indexes are
+ * built with the same collation.
+ */
+public final class NameCollation {
+
+    public static final String NAME = "C";
+
+    private NameCollation() {
+    }
+
+    /**
+     * {@code name} collated for ordering and seeking.
+     */
+    public static Expression<String> collated(CriteriaBuilder cb, Expression<String> name) {
+        return ((HibernateCriteriaBuilder) cb).collate(name, NAME);
+    }
+
+    /**
+     * Compares names by code point, like {@code COLLATE "C"}. {@link String#compareTo} compares UTF-16
+     * units instead, which orders characters outside the Basic Multilingual Plane before U+E000-U+FFFF.
+     */
+    public static int compare(String left, String right) {
+        int i = 0;
+        int j = 0;
+        while (i < left.length() && j < right.length()) {
+            int l = left.codePointAt(i);
+            int r = right.codePointAt(j);
+            if (l != r) {
+                return Integer.compare(l, r);
+            }
+            i += Character.charCount(l);
+            j += Character.charCount(r);
+        }
+        return Integer.compare(left.length() - i, right.length() - j);
+    }
+}
@@ -0,0 +1,16 @@
+package com.specit.productlist.repository;
+
+/**
+ * Select list of a listed product from {@code products p LEFT JOIN categories c}, shared by the JDBC
+ * reads and the reactive module. Kept free of any data-access types so that a module without
+ * spring-jdbc can use it.
+ */
+public final class ProductColumns {
+
+    public static final String COLUMNS = """
+            p.id, p.name, p.description_summary, p.image_url, p.price_amount, p.price_currency, p.is_available,
+            p.price_sort_amount, c.id AS category_id, c.name AS category_name""";
+
+    private ProductColumns() {
+    }
+}
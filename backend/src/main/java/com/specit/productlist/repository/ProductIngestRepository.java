@@ -0,0 +1,124 @@
+package com.specit.productlist.repository;
+
+import com.specit.productlist.api.dto.ProductUpsertDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Set-based product upserts: a batch is loaded into a session-local staging table with one JDBC
+ * batch and merged into {@code products} with a single statement.
+ *
+ * <p>The staging table empties itself on commit, so every method must be called inside the same
+ * transaction, in the order {@link #stage}, {@link #rejectUnknownCategories}, {@link #merge}.
+ */
+@Repository
+public class ProductIngestRepository {
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE IF NOT EXISTS product_ingest_staging (
+                item INT NOT NULL,
+                id UUID NOT NULL,
+                name TEXT NOT NULL,
+                description_summary TEXT NULL,
+                image_url TEXT NULL,
+                price_amount NUMERIC(12,2) NULL,
+                price_currency CHAR(3) NULL,
+                is_available BOOLEAN NOT NULL,
+                category_id UUID NULL
+            ) ON COMMIT DELETE ROWS""";
+
+    private static final String INSERT_STAGING = """
+            INSERT INTO product_ingest_staging
+                (item, id, name, description_summary, image_url, price_amount, price_currency, is_available, category_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String REJECT_UNKNOWN_CATEGORIES = """
+            DELETE FROM product_ingest_staging s
+            WHERE s.category_id IS NOT NULL
+              AND NOT EXISTS (SELECT 1 FROM categories c WHERE c.id = s.category_id)
+            RETURNING s.item""";
+
+    // Staged ids are unique (see stage), so no row is hit twice; updated_at only moves when something changed.
+    // clock_timestamp() rather than now(): the merge runs right before commit, so updated_at stays
+    // close to the commit time the change feed relies on.
+    private static final String MERGE = """
+            INSERT INTO products AS p
+                (id, name, description_summary, image_url, price_amount, price_currency, is_available, category_id,
+                 created_at, updated_at)
+            SELECT
+                id, name, description_summary, image_url, price_amount, price_currency, is_available, category_id,
+                clock_timestamp(), clock_timestamp()
+            FROM product_ingest_staging
+            ON CONFLICT (id) DO UPDATE SET
+                name = EXCLUDED.name,
+                description_summary = EXCLUDED.description_summary,
+                image_url = EXCLUDED.image_url,
+                price_amount = EXCLUDED.price_amount,
+                price_currency = EXCLUDED.price_currency,
+                is_available = EXCLUDED.is_available,
+                category_id = EXCLUDED.category_id,
+                updated_at = EXCLUDED.updated_at
+            WHERE (p.name, p.description_summary, p.image_url, p.price_amount, p.price_currency, p.is_available, p.category_id)
+                IS DISTINCT FROM
+                  (EXCLUDED.name, EXCLUDED.description_summary, EXCLUDED.image_url, EXCLUDED.price_amount,
+                   EXCLUDED.price_currency, EXCLUDED.is_available, EXCLUDED.category_id)
+            RETURNING (xmax = 0) AS inserted""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductIngestRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Loads {@code rows} into the staging table. Their ids must be distinct: the merge cannot update
+     * one product twice in a statement.
+     */
+    public void stage(List<StagedProduct> rows) {
+        jdbcTemplate.execute(CREATE_STAGING);
+        jdbcTemplate.batchUpdate(INSERT_STAGING, rows, rows.size(), (ps, row) -> {
+            ProductUpsertDto p = row.product();
+            ps.setInt(1, row.item());
+            ps.setObject(2, p.id());
+            ps.setString(3, p.name());
+            ps.setString(4, p.descriptionSummary());
+            ps.setString(5, p.imageUrl());
+            if (p.price() == null) {
+                ps.setNull(6, Types.NUMERIC);
+                ps.setNull(7, Types.CHAR);
+            } else {
+                ps.setBigDecimal(6, p.price().amount());
+                ps.setString(7, p.price().currency());
+            }
+            ps.setBoolean(8, Boolean.TRUE.equals(p.isAvailable()));
+            ps.setObject(9, p.categoryId());
+        });
+    }
+
+    /**
+     * Drops staged rows whose category does not exist, which would otherwise fail the whole merge.
+     *
+     * @return item positions of the dropped rows
+     */
+    public List<Integer> rejectUnknownCategories() {
+        return jdbcTemplate.queryForList(REJECT_UNKNOWN_CATEGORIES, Integer.class);
+    }
+
+    public MergeCounts merge() {
+        List<Boolean> written = jdbcTemplate.queryForList(MERGE, Boolean.class);
+        int inserted = (int) written.stream().filter(Boolean::booleanValue).count();
+        return new MergeCounts(inserted, written.size() - inserted);
+    }
+
+    /**
+     * @param item position of the product in the ingest request
+     */
+    public record StagedProduct(int item, ProductUpsertDto product) {
+    }
+
+    public record MergeCounts(int inserted, int updated) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.specit.productlist.repository;
+
+import com.specit.productlist.api.dto.ProductDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC reads for paths that never need managed entities.
+ */
+@Repository
+public class ProductJdbcRepository {
+
+    private static final ProductRowMapper ROW_MAPPER = new ProductRowMapper();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams every available product, optionally of one category, in id order.
+     *
+     * <p>The PostgreSQL driver only reads through a server-side cursor when the statement has a fetch
+     * size and auto-commit is off, so this must be called inside a transaction; otherwise the whole
+     * result set is buffered in memory.
+     */
+    public void streamAvailable(UUID categoryId, int fetchSize, Consumer<ProductDto> sink) {
+        String sql = "SELECT " + ProductColumns.COLUMNS
+                + " FROM products p LEFT JOIN categories c ON c.id = p.category_id"
+                + " WHERE p.is_available"
+                + (categoryId == null ? "" : " AND p.category_id = ?")
+                + " ORDER BY p.id";
+
+        RowCallbackHandler handler = rs -> sink.accept(ROW_MAPPER.mapRow(rs, 0));
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(sql);
+                    ps.setFetchSize(fetchSize);
+                    if (categoryId != null) {
+                        ps.setObject(1, categoryId);
+                    }
+                    return ps;
+                },
+                handler
+        );
+    }
+
+    /**
+     * Streams the id and name of every available product, unordered. Same transaction requirement as
+     * {@link #streamAvailable}.
+     */
+    public void streamAvailableNames(int fetchSize, BiConsumer<UUID, String> sink) {
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            "SELECT p.id, p.name FROM products p WHERE p.is_available");
+                    ps.setFetchSize(fetchSize);
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> sink.accept(rs.getObject(1, UUID.class), rs.getString(2))
+        );
+    }
+
+    /**
+     * Products of any availability whose {@code (updated_at, id)} comes after the given position, in
+     * that order, leaving out changes younger than {@code settleTime} by the database clock.
+     */
+    public List<ProductChange> findChangedAfter(Instant updatedAt, UUID id, Duration settleTime, int limit) {
+        String sql = "SELECT " + ProductColumns.COLUMNS + ", p.updated_at"
+                + " FROM products p LEFT JOIN categories c ON c.id = p.category_id"
+                + " WHERE (p.updated_at, p.id) > (?, ?)"
+                + " AND p.updated_at <= now() - make_interval(secs => ?)"
+                + " ORDER BY p.updated_at, p.id"
+                + " LIMIT ?";
+
+        return jdbcTemplate.query(
+                sql,
+                (rs, rowNum) -> new ProductChange(
+                        ROW_MAPPER.mapRow(rs, rowNum),
+                        rs.getObject("updated_at", OffsetDateTime.class).toInstant()
+                ),
+                OffsetDateTime.ofInstant(updatedAt, ZoneOffset.UTC),
+                id,
+                settleTime.toMillis() / 1000.0,
+                limit
+        );
+    }
+
+    /**
+     * Hard-deleted products whose {@code (deleted_at, id)} comes after the given position, in that order,
+     * with the same {@code settleTime} cut-off as {@link #findChangedAfter}.
+     */
+    public List<ProductRemoval> findRemovedAfter(Instant deletedAt, UUID id, Duration settleTime, int limit) {
+        String sql = "SELECT d.id, d.deleted_at FROM product_deletions d"
+                + " WHERE (d.deleted_at, d.id) > (?, ?)"
+                + " AND d.deleted_at <= now() - make_interval(secs => ?)"
+                + " ORDER BY d.deleted_at, d.id"
+                + " LIMIT ?";
+
+        return jdbcTemplate.query(
+                sql,
+                (rs, rowNum) -> new ProductRemoval(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("deleted_at", OffsetDateTime.class).toInstant()
+                ),
+                OffsetDateTime.ofInstant(deletedAt, ZoneOffset.UTC),
+                id,
+                settleTime.toMillis() / 1000.0,
+                limit
+        );
+    }
+
+    /**
+     * Products of any availability with one of {@code ids}, in no particular order. The ids travel as a
+     * single array parameter, so every batch size shares one statement and one plan.
+     */
+    public List<ProductDto> findByIds(Collection<UUID> ids) {
+        String sql = "SELECT " + ProductColumns.COLUMNS
+                + " FROM products p LEFT JOIN categories c ON c.id = p.category_id"
+                + " WHERE p.id = ANY(?)";
+
+        return jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(sql);
+                    ps.setArray(1, con.createArrayOf("uuid", ids.toArray()));
+                    return ps;
+                },
+                ROW_MAPPER
+        );
+    }
+
+    public record ProductChange(ProductDto product, Instant updatedAt) {
+    }
+
+    public record ProductRemoval(UUID id, Instant deletedAt) {
+    }
+}
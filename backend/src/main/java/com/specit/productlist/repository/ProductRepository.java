@@ -3,8 +3,24 @@ package com.specit.productlist.repository;
 import com.specit.productlist.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
-public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product>, ProductRepositoryCustom {
+
+    @Query("select max(p.updatedAt) from Product p")
+    Instant findMaxUpdatedAt();
+
+    @Query("select p from Product p left join fetch p.category where p.isAvailable = true")
+    List<Product> findAllAvailableWithCategory();
+
+    /**
+     * Products touched after {@code since}, including ones that became unavailable.
+     */
+    @Query("select p from Product p left join fetch p.category where p.updatedAt > :since")
+    List<Product> findChangedSince(@Param("since") Instant since);
 }
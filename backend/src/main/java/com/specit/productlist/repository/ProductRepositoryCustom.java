@@ -0,0 +1,25 @@
+package com.specit.productlist.repository;
+
+import com.specit.productlist.model.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Fetches at most {@code limit} products matching {@code spec} starting at {@code offset},
+     * without issuing the count query that {@code findAll(spec, pageable)} runs.
+     */
+    @Transactional(readOnly = true)
+    List<Product> findWindow(Specification<Product> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Same window as {@link #findWindow}, but selects only the columns of {@link ProductDto} and the
+     * price sort key and maps them directly, so no entity is hydrated or tracked by the persistence context.
+     */
+    @Transactional(readOnly = true)
+    List<ProductWindowRow> findDtoWindow(Specification<Product> spec, Sort sort, long offset, int limit);
+}
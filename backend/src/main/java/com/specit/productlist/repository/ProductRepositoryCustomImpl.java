@@ -0,0 +1,129 @@
+package com.specit.productlist.repository;
+
+import com.specit.productlist.api.dto.CategoryDto;
+import com.specit.productlist.api.dto.MoneyDto;
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.model.Category;
+import com.specit.productlist.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    ProductRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Product> findWindow(Specification<Product> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(root);
+
+        return window(query, root, spec, sort, offset, limit).getResultList();
+    }
+
+    @Override
+    public List<ProductWindowRow> findDtoWindow(Specification<Product> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Join<Product, Category> category = root.join("category", JoinType.LEFT);
+        query.multiselect(
+                root.get("id"),
+                root.get("name"),
+                root.get("descriptionSummary"),
+                root.get("imageUrl"),
+                root.get("priceAmount"),
+                root.get("priceCurrency"),
+                root.get("isAvailable"),
+                category.get("id"),
+                category.get("name"),
+                root.get("priceSortAmount")
+        );
+
+        List<Tuple> rows = window(query, root, spec, sort, offset, limit).getResultList();
+
+        Map<UUID, CategoryDto> categories = new HashMap<>();
+        List<ProductWindowRow> items = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            items.add(new ProductWindowRow(toDto(row, categories), row.get(9, BigDecimal.class)));
+        }
+        return items;
+    }
+
+    private <T> TypedQuery<T> window(
+            CriteriaQuery<T> query,
+            Root<Product> root,
+            Specification<Product> spec,
+            Sort sort,
+            long offset,
+            int limit
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(toOrders(sort, root, cb));
+        }
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit);
+    }
+
+    /**
+     * Like {@code QueryUtils.toOrders}, but orders {@code name} by {@link NameCollation}.
+     */
+    private static List<Order> toOrders(Sort sort, Root<Product> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<?> key = "name".equals(order.getProperty())
+                    ? NameCollation.collated(cb, root.get("name"))
+                    : root.get(order.getProperty());
+            orders.add(order.isAscending() ? cb.asc(key) : cb.desc(key));
+        }
+        return orders;
+    }
+
+    private static ProductDto toDto(Tuple row, Map<UUID, CategoryDto> categories) {
+        BigDecimal amount = row.get(4, BigDecimal.class);
+        UUID categoryId = row.get(7, UUID.class);
+        CategoryDto category = categoryId == null
+                ? null
+                : categories.computeIfAbsent(categoryId, id -> new CategoryDto(id, row.get(8, String.class)));
+
+        return new ProductDto(
+                row.get(0, UUID.class),
+                row.get(1, String.class),
+                row.get(2, String.class),
+                row.get(3, String.class),
+                amount == null ? null : new MoneyDto(amount, row.get(5, String.class)),
+                row.get(6, Boolean.class),
+                category
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.specit.productlist.repository;
+
+import com.specit.productlist.api.dto.CategoryDto;
+import com.specit.productlist.api.dto.MoneyDto;
+import com.specit.productlist.api.dto.ProductDto;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Maps rows selected with {@link ProductColumns#COLUMNS} from {@code products p LEFT JOIN categories c} to {@link ProductDto}.
+ */
+public class ProductRowMapper implements RowMapper<ProductDto> {
+
+    @Override
+    public ProductDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        BigDecimal amount = rs.getBigDecimal("price_amount");
+        UUID categoryId = rs.getObject("category_id", UUID.class);
+
+        return new ProductDto(
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                rs.getString("description_summary"),
+                rs.getString("image_url"),
+                amount == null ? null : new MoneyDto(amount, rs.getString("price_currency")),
+                rs.getBoolean("is_available"),
+                categoryId == null ? null : new CategoryDto(categoryId, rs.getString("category_name"))
+        );
+    }
+}
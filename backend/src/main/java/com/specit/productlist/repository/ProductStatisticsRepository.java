@@ -0,0 +1,132 @@
+package com.specit.productlist.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.specit.productlist.api.dto.CategoryFacetDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class ProductStatisticsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ProductStatisticsRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Planner row estimate for available products whose name contains {@code term}.
+     *
+     * <p>The pattern is inlined as an escaped literal rather than bound: with a bind parameter the
+     * planner falls back to a fixed default selectivity for LIKE and the estimate becomes meaningless.
+     */
+    public long estimateAvailableMatching(String term, UUID categoryId) {
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM products p WHERE p.is_available")
+                .append(" AND lower(p.name) LIKE ").append(literal(SearchPatterns.contains(term)))
+                .append(" ESCAPE ").append(literal(String.valueOf(SearchPatterns.ESCAPE)));
+        if (categoryId != null) {
+            sql.append(" AND p.category_id = '").append(categoryId).append("'::uuid");
+        }
+
+        String plan = jdbcTemplate.queryForObject(sql.toString(), String.class);
+        try {
+            JsonNode root = objectMapper.readTree(plan);
+            return root.path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Category counts and price bucket counts of the available products matching {@code term} (may
+     * be null), in one pass over the matching rows. Category counts ignore {@code categoryId}; bucket
+     * counts and the total respect it. Buckets are numbered by {@code width_bucket(price, edges)} over the
+     * price in the base currency ({@code price_sort_amount}).
+     */
+    public FacetCounts facets(String term, UUID categoryId, List<BigDecimal> edges) {
+        StringBuilder matching = new StringBuilder("SELECT p.category_id, c.name AS category_name,")
+                .append(" width_bucket(p.price_sort_amount, ").append(numericArray(edges)).append(") AS bucket")
+                .append(" FROM products p LEFT JOIN categories c ON c.id = p.category_id")
+                .append(" WHERE p.is_available");
+        List<Object> args = new ArrayList<>();
+        if (term != null) {
+            matching.append(" AND lower(p.name) LIKE ? ESCAPE ").append(literal(String.valueOf(SearchPatterns.ESCAPE)));
+            args.add(SearchPatterns.contains(term));
+        }
+
+        String inCategory = "count(*)";
+        if (categoryId != null) {
+            inCategory = "count(*) FILTER (WHERE category_id = ?)";
+            args.add(0, categoryId);
+        }
+
+        // GROUPING(bucket) is 1 on the per-category rows and 0 on the per-bucket rows.
+        String sql = "SELECT GROUPING(bucket) AS by_category, category_id, category_name, bucket,"
+                + " count(*) AS matched, " + inCategory + " AS matched_in_category"
+                + " FROM (" + matching + ") m"
+                + " GROUP BY GROUPING SETS ((category_id, category_name), (bucket))";
+
+        List<CategoryFacetDto> categories = new ArrayList<>();
+        long[] buckets = new long[edges.size() + 1];
+        long[] total = {0};
+        RowCallbackHandler handler = rs -> {
+            if (rs.getInt("by_category") == 1) {
+                UUID id = rs.getObject("category_id", UUID.class);
+                if (id != null) {
+                    categories.add(new CategoryFacetDto(id, rs.getString("category_name"), rs.getLong("matched")));
+                }
+                return;
+            }
+            long count = rs.getLong("matched_in_category");
+            total[0] += count;
+            int bucket = rs.getInt("bucket");
+            if (!rs.wasNull()) {
+                buckets[bucket] = count;
+            }
+        };
+        jdbcTemplate.query(sql, handler, args.toArray());
+
+        return new FacetCounts(total[0], categories, buckets);
+    }
+
+    /**
+     * Edges as a {@code numeric[]} literal; they come from configuration, never from a request.
+     */
+    private static String numericArray(List<BigDecimal> edges) {
+        StringBuilder sql = new StringBuilder("'{");
+        for (int i = 0; i < edges.size(); i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(edges.get(i).toPlainString());
+        }
+        return sql.append("}'::numeric[]").toString();
+    }
+
+    /**
+     * @param bucketCounts products per price bucket, indexed like {@code width_bucket}
+     */
+    public record FacetCounts(long total, List<CategoryFacetDto> categories, long[] bucketCounts) {
+    }
+
+    /**
+     * Escape-string literal; safe whatever {@code standard_conforming_strings} is set to.
+     */
+    private static String literal(String value) {
+        if (value.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException("NUL character in search term");
+        }
+        return "E'" + value.replace("\\", "\\\\").replace("'", "''") + "'";
+    }
+}
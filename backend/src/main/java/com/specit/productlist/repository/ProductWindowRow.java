@@ -0,0 +1,15 @@
+package com.specit.productlist.repository;
+
+import com.specit.productlist.api.dto.ProductDto;
+
+import java.math.BigDecimal;
+
+/**
+ * One product of a listing window together with the sort key it was ordered by, read in the same
+ * statement so that a cursor built from it always matches the row.
+ *
+ * @param priceSortAmount {@code products.price_sort_amount}; null when the product is unpriced or its
+ *                        currency has no rate
+ */
+public record ProductWindowRow(ProductDto product, BigDecimal priceSortAmount) {
+}
@@ -0,0 +1,21 @@
+package com.specit.productlist.repository;
+
+/**
+ * LIKE patterns for the product name search. Patterns escape {@code %}, {@code _} and the escape
+ * character itself with {@link #ESCAPE}, so user input always matches literally.
+ */
+public final class SearchPatterns {
+
+    public static final char ESCAPE = '\\';
+
+    private SearchPatterns() {
+    }
+
+    /**
+     * Pattern matching names that contain {@code term}; {@code term} must already be lowercased.
+     */
+    public static String contains(String term) {
+        String escaped = term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,468 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.CategoryDto;
+import com.specit.productlist.api.dto.CategoryFacetDto;
+import com.specit.productlist.api.dto.ProductFacetsDto;
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.api.dto.ProductListResponseDto;
+import com.specit.productlist.repository.NameCollation;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable, read-optimized copy of every available product.
+ *
+ * <p>Rows are addressed by an int position. Each sort order is a pre-computed permutation of row
+ * positions and each category is a bitset over them, so a listing is a walk over one int array
+ * without any locking. Category DTOs are interned: all rows of a category share one instance.
+ * Prices are ordered by their value in the base currency, normalized with the snapshot's
+ * {@link FxRates} the same way the database derives {@code price_sort_amount}.
+ *
+ * <p>Names are ordered by code point, like the {@link NameCollation} the database listings use, and ids
+ * the way PostgreSQL orders {@code uuid} values. An incremental refresh keeps the permutations of the
+ * unchanged rows and merges in the changed ones, so it sorts only what changed.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<UUID> UUID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private final ProductDto[] rows;
+    private final String[] searchNames;
+    private final int[] byName;
+    private final int[] byPrice;
+    private final BigDecimal[] sortPrices;
+    private final Map<UUID, BitSet> byCategory;
+    private final FxRates rates;
+    private final Instant productsWatermark;
+    private final Instant categoriesWatermark;
+    private final Instant refreshedAt;
+
+    private CatalogSnapshot(
+            ProductDto[] rows,
+            String[] searchNames,
+            int[] byName,
+            int[] byPrice,
+            BigDecimal[] sortPrices,
+            Map<UUID, BitSet> byCategory,
+            FxRates rates,
+            Instant productsWatermark,
+            Instant categoriesWatermark,
+            Instant refreshedAt
+    ) {
+        this.rows = rows;
+        this.searchNames = searchNames;
+        this.byName = byName;
+        this.byPrice = byPrice;
+        this.sortPrices = sortPrices;
+        this.byCategory = byCategory;
+        this.rates = rates;
+        this.productsWatermark = productsWatermark;
+        this.categoriesWatermark = categoriesWatermark;
+        this.refreshedAt = refreshedAt;
+    }
+
+    /**
+     * Builds a snapshot from {@code products}; unavailable products are dropped.
+     */
+    public static CatalogSnapshot build(
+            Collection<ProductDto> products,
+            FxRates rates,
+            Instant productsWatermark,
+            Instant categoriesWatermark,
+            Instant refreshedAt
+    ) {
+        Map<UUID, CategoryDto> interned = new HashMap<>();
+        ProductDto[] rows = products.stream()
+                .filter(ProductDto::isAvailable)
+                .map(p -> intern(p, interned))
+                .toArray(ProductDto[]::new);
+
+        String[] searchNames = new String[rows.length];
+        BigDecimal[] sortPrices = new BigDecimal[rows.length];
+        Map<UUID, BitSet> byCategory = new HashMap<>();
+        for (int i = 0; i < rows.length; i++) {
+            searchNames[i] = rows[i].name().toLowerCase(Locale.ROOT);
+            sortPrices[i] = rates.normalize(rows[i].price());
+            if (rows[i].category() != null) {
+                byCategory.computeIfAbsent(rows[i].category().id(), id -> new BitSet(rows.length)).set(i);
+            }
+        }
+
+        RowOrder nameOrder = nameOrder(rows);
+        RowOrder priceOrder = priceOrder(sortPrices, nameOrder);
+
+        return new CatalogSnapshot(
+                rows,
+                searchNames,
+                permutation(rows.length, nameOrder),
+                permutation(rows.length, priceOrder),
+                sortPrices,
+                byCategory,
+                rates,
+                productsWatermark,
+                categoriesWatermark,
+                refreshedAt
+        );
+    }
+
+    /**
+     * Returns a new snapshot with {@code changed} applied on top of this one: available products are
+     * inserted or replaced, unavailable ones are removed. Unchanged rows keep their relative order, so
+     * only the changed rows are sorted and then merged into each permutation.
+     */
+    public CatalogSnapshot apply(Collection<ProductDto> changed, Instant productsWatermark, Instant refreshedAt) {
+        Map<UUID, ProductDto> changes = new LinkedHashMap<>();
+        for (ProductDto p : changed) {
+            changes.put(p.id(), p);
+        }
+        // Refreshes re-read rows behind the watermark, so most changes are rows this snapshot already has.
+        Set<UUID> present = new HashSet<>();
+        for (ProductDto row : rows) {
+            ProductDto change = changes.get(row.id());
+            if (change != null) {
+                present.add(row.id());
+                if (change.equals(row)) {
+                    changes.remove(row.id());
+                }
+            }
+        }
+        changes.values().removeIf(p -> !p.isAvailable() && !present.contains(p.id()));
+        if (changes.isEmpty()) {
+            return new CatalogSnapshot(rows, searchNames, byName, byPrice, sortPrices, byCategory, rates,
+                    productsWatermark, categoriesWatermark, refreshedAt);
+        }
+
+        // Old position -> new position, or -1 for rows that were replaced or removed.
+        int[] moved = new int[rows.length];
+        List<ProductDto> next = new ArrayList<>(rows.length + changes.size());
+        Map<UUID, CategoryDto> interned = new HashMap<>();
+        for (int i = 0; i < rows.length; i++) {
+            if (changes.containsKey(rows[i].id())) {
+                moved[i] = -1;
+                continue;
+            }
+            moved[i] = next.size();
+            next.add(rows[i]);
+            if (rows[i].category() != null) {
+                interned.putIfAbsent(rows[i].category().id(), rows[i].category());
+            }
+        }
+        int firstAdded = next.size();
+        for (ProductDto p : changes.values()) {
+            if (p.isAvailable()) {
+                next.add(intern(p, interned));
+            }
+        }
+
+        ProductDto[] merged = next.toArray(ProductDto[]::new);
+        String[] mergedSearchNames = new String[merged.length];
+        BigDecimal[] mergedSortPrices = new BigDecimal[merged.length];
+        for (int i = 0; i < rows.length; i++) {
+            if (moved[i] >= 0) {
+                mergedSearchNames[moved[i]] = searchNames[i];
+                mergedSortPrices[moved[i]] = sortPrices[i];
+            }
+        }
+        for (int i = firstAdded; i < merged.length; i++) {
+            mergedSearchNames[i] = merged[i].name().toLowerCase(Locale.ROOT);
+            mergedSortPrices[i] = rates.normalize(merged[i].price());
+        }
+
+        Map<UUID, BitSet> mergedByCategory = new HashMap<>();
+        for (int i = 0; i < merged.length; i++) {
+            if (merged[i].category() != null) {
+                mergedByCategory.computeIfAbsent(merged[i].category().id(), id -> new BitSet(merged.length)).set(i);
+            }
+        }
+
+        RowOrder nameOrder = nameOrder(merged);
+        RowOrder priceOrder = priceOrder(mergedSortPrices, nameOrder);
+        return new CatalogSnapshot(
+                merged,
+                mergedSearchNames,
+                merge(byName, moved, firstAdded, merged.length, nameOrder),
+                merge(byPrice, moved, firstAdded, merged.length, priceOrder),
+                mergedSortPrices,
+                mergedByCategory,
+                rates,
+                productsWatermark,
+                categoriesWatermark,
+                refreshedAt
+        );
+    }
+
+    /**
+     * Same snapshot, re-stamped after a refresh that found nothing to change.
+     */
+    public CatalogSnapshot touch(Instant refreshedAt) {
+        return new CatalogSnapshot(rows, searchNames, byName, byPrice, sortPrices, byCategory, rates,
+                productsWatermark, categoriesWatermark, refreshedAt);
+    }
+
+    /**
+     * Whether both snapshots hold the same rows, as when one was derived from the other by a refresh
+     * that changed nothing.
+     */
+    boolean hasSameRowsAs(CatalogSnapshot other) {
+        return rows == other.rows;
+    }
+
+    /**
+     * Serves {@code query}, which must already be normalized and must not use
+     * {@link ProductQuery.Sort#relevance}.
+     *
+     * <p>The total is never reported as exact: it is counted over this snapshot, which may lag the
+     * database by up to {@code catalog.snapshot.max-staleness}. With {@link CountMode#none} the walk
+     * stops one match past the page and the total is a lower bound, as on the database path;
+     * {@link CountMode#estimated} counts like {@link CountMode#exact}, since counting here is cheap.
+     */
+    public ProductListResponseDto list(ProductQuery query, CountMode mode) {
+        int[] order = query.sort() == ProductQuery.Sort.price_asc ? byPrice : byName;
+        BitSet category = null;
+        if (query.categoryId() != null) {
+            category = byCategory.getOrDefault(query.categoryId(), new BitSet());
+        }
+        String term = query.q();
+        boolean counting = mode != CountMode.none;
+
+        long offset = (long) (query.page() - 1) * query.pageSize();
+        List<ProductDto> items = new ArrayList<>(query.pageSize());
+        long total;
+
+        if (category == null && term == null) {
+            total = order.length;
+            for (long i = offset; i < order.length && items.size() < query.pageSize(); i++) {
+                items.add(rows[order[(int) i]]);
+            }
+        } else {
+            long matched = 0;
+            for (int row : order) {
+                if (category != null && !category.get(row)) {
+                    continue;
+                }
+                if (term != null && !searchNames[row].contains(term)) {
+                    continue;
+                }
+                if (!counting && items.size() == query.pageSize()) {
+                    // One match past the page is all hasNext needs.
+                    matched++;
+                    break;
+                }
+                if (matched >= offset && items.size() < query.pageSize()) {
+                    items.add(rows[row]);
+                }
+                matched++;
+                if (counting && term == null && items.size() == query.pageSize()) {
+                    // Category-only filter: the total is the bitset cardinality, no need to keep walking.
+                    matched = category.cardinality();
+                    break;
+                }
+            }
+            total = matched;
+        }
+
+        boolean hasNext = offset + items.size() < total;
+        if (!counting) {
+            total = offset + items.size() + (hasNext ? 1 : 0);
+        }
+        return new ProductListResponseDto(
+                items,
+                query.page(),
+                query.pageSize(),
+                total,
+                (int) Math.ceil((double) total / query.pageSize()),
+                false,
+                hasNext
+        );
+    }
+
+    /**
+     * Unfiltered facets. Category counts are bitset cardinalities and price buckets are located by
+     * binary search over the price order, so the cost does not grow with the catalog.
+     *
+     * @param priceEdges ascending bucket boundaries, as in {@link PriceBuckets}
+     */
+    public ProductFacetsDto facets(List<BigDecimal> priceEdges) {
+        List<CategoryFacetDto> categories = new ArrayList<>(byCategory.size());
+        for (BitSet members : byCategory.values()) {
+            CategoryDto category = rows[members.nextSetBit(0)].category();
+            categories.add(new CategoryFacetDto(category.id(), category.name(), members.cardinality()));
+        }
+
+        long[] buckets = new long[priceEdges.size() + 1];
+        int below = 0;
+        for (int i = 0; i <= priceEdges.size(); i++) {
+            int upTo = pricedBelow(i == priceEdges.size() ? null : priceEdges.get(i));
+            buckets[i] = upTo - below;
+            below = upTo;
+        }
+
+        return new ProductFacetsDto(rows.length, categories, PriceBuckets.toDtos(priceEdges, buckets));
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public FxRates rates() {
+        return rates;
+    }
+
+    public Instant productsWatermark() {
+        return productsWatermark;
+    }
+
+    public Instant categoriesWatermark() {
+        return categoriesWatermark;
+    }
+
+    public Instant refreshedAt() {
+        return refreshedAt;
+    }
+
+    private static ProductDto intern(ProductDto p, Map<UUID, CategoryDto> interned) {
+        if (p.category() == null) {
+            return p;
+        }
+        CategoryDto shared = interned.computeIfAbsent(p.category().id(), id -> p.category());
+        if (shared == p.category()) {
+            return p;
+        }
+        return new ProductDto(p.id(), p.name(), p.descriptionSummary(), p.imageUrl(), p.price(), p.isAvailable(), shared);
+    }
+
+    /**
+     * Number of priced rows cheaper than {@code edge} in the base currency, or of all priced rows when
+     * {@code edge} is null. Relies on {@link #byPrice} ordering rows by ascending normalized price with
+     * rows without one last.
+     */
+    private int pricedBelow(BigDecimal edge) {
+        int low = 0;
+        int high = byPrice.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            BigDecimal price = sortPrices[byPrice[mid]];
+            if (price != null && (edge == null || price.compareTo(edge) < 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static RowOrder nameOrder(ProductDto[] rows) {
+        return (left, right) -> {
+            int byName = NameCollation.compare(rows[left].name(), rows[right].name());
+            return byName != 0 ? byName : UUID_ORDER.compare(rows[left].id(), rows[right].id());
+        };
+    }
+
+    /**
+     * Ascending normalized price with rows without one last, then {@code nameOrder}.
+     */
+    private static RowOrder priceOrder(BigDecimal[] sortPrices, RowOrder nameOrder) {
+        return (left, right) -> {
+            BigDecimal l = sortPrices[left];
+            BigDecimal r = sortPrices[right];
+            int byPrice = l == null ? (r == null ? 0 : 1) : (r == null ? -1 : l.compareTo(r));
+            return byPrice != 0 ? byPrice : nameOrder.compare(left, right);
+        };
+    }
+
+    private static int[] permutation(int size, RowOrder order) {
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = i;
+        }
+        sort(positions, order);
+        return positions;
+    }
+
+    /**
+     * The permutation of a snapshot derived from this one: {@code previous} with every position mapped
+     * through {@code moved} and removed rows skipped, which leaves it sorted, merged with the rows from
+     * {@code firstAdded} to {@code size} after sorting those.
+     */
+    private static int[] merge(int[] previous, int[] moved, int firstAdded, int size, RowOrder order) {
+        int[] added = new int[size - firstAdded];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = firstAdded + i;
+        }
+        sort(added, order);
+
+        int[] merged = new int[size];
+        int out = 0;
+        int next = 0;
+        for (int old : previous) {
+            int row = moved[old];
+            if (row < 0) {
+                continue;
+            }
+            while (next < added.length && order.compare(added[next], row) < 0) {
+                merged[out++] = added[next++];
+            }
+            merged[out++] = row;
+        }
+        while (next < added.length) {
+            merged[out++] = added[next++];
+        }
+        return merged;
+    }
+
+    /**
+     * Merge sort of row positions, without boxing them.
+     */
+    private static void sort(int[] positions, RowOrder order) {
+        if (positions.length < 2) {
+            return;
+        }
+        int[] buffer = positions.clone();
+        mergeSort(buffer, positions, 0, positions.length, order);
+    }
+
+    /**
+     * Sorts {@code target[from, to)}, using the same range of {@code source}, which holds the same
+     * values, as scratch space.
+     */
+    private static void mergeSort(int[] source, int[] target, int from, int to, RowOrder order) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(target, source, from, middle, order);
+        mergeSort(target, source, middle, to, order);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && order.compare(source[left], source[right]) <= 0)) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+
+    /**
+     * Total order over the row positions of one snapshot.
+     */
+    @FunctionalInterface
+    private interface RowOrder {
+        int compare(int left, int right);
+    }
+}
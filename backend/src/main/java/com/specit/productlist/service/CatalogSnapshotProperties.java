@@ -0,0 +1,21 @@
+package com.specit.productlist.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled            serve listings from the in-memory snapshot
+ * @param refreshInterval    delay between incremental refreshes
+ * @param maxStaleness       age after which the snapshot is bypassed in favour of the database
+ * @param fullReloadInterval interval between full reloads, which also pick up hard deletes
+ */
+@ConfigurationProperties("catalog.snapshot")
+public record CatalogSnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("PT5S") Duration refreshInterval,
+        @DefaultValue("PT30S") Duration maxStaleness,
+        @DefaultValue("PT15M") Duration fullReloadInterval
+) {
+}
@@ -0,0 +1,152 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.CategoryDto;
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.model.Product;
+import com.specit.productlist.repository.CategoryRepository;
+import com.specit.productlist.repository.FxRateRepository;
+import com.specit.productlist.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps a {@link CatalogSnapshot} up to date by polling {@code updated_at} and the exchange rates, and
+ * publishes each new snapshot with a single volatile write, so readers never wait on a refresh.
+ *
+ * <p>The snapshot lags the {@link CatalogVersion} bump of a write by up to one refresh, so a response
+ * cached from it in between can hold the old rows. The version is therefore bumped again after every
+ * snapshot whose rows changed is published, which drops such responses.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    /**
+     * Rows are re-read this far behind the watermark: {@code updated_at} is stamped before commit,
+     * so a slow transaction can become visible after a later one has already moved the watermark.
+     */
+    private static final Duration WATERMARK_OVERLAP = Duration.ofSeconds(5);
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final FxRateRepository fxRateRepository;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate readOnlyTx;
+    private final CatalogSnapshotProperties properties;
+    private final Clock clock;
+
+    private volatile CatalogSnapshot snapshot;
+    private volatile Instant lastFullReload = Instant.MIN;
+
+    public CatalogSnapshotService(
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            FxRateRepository fxRateRepository,
+            CatalogVersion catalogVersion,
+            PlatformTransactionManager transactionManager,
+            CatalogSnapshotProperties properties
+    ) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.fxRateRepository = fxRateRepository;
+        this.catalogVersion = catalogVersion;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.properties = properties;
+        this.clock = Clock.systemUTC();
+    }
+
+    /**
+     * The current snapshot, or empty when the snapshot is disabled, not loaded yet, or stale.
+     */
+    public Optional<CatalogSnapshot> current() {
+        CatalogSnapshot s = snapshot;
+        if (!properties.enabled() || s == null) {
+            return Optional.empty();
+        }
+        if (s.refreshedAt().plus(properties.maxStaleness()).isBefore(clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(s);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.snapshot.refresh-interval:PT5S}")
+    public void refresh() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            CatalogSnapshot previous = snapshot;
+            CatalogSnapshot next = readOnlyTx.execute(status -> nextSnapshot(previous));
+            snapshot = next;
+            if (previous == null || !next.hasSameRowsAs(previous)) {
+                catalogVersion.bump();
+            }
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot until it turns stale; the database takes over after that.
+            log.warn("Catalog snapshot refresh failed", e);
+        }
+    }
+
+    private CatalogSnapshot nextSnapshot(CatalogSnapshot previous) {
+        Instant now = clock.instant();
+        Instant categoriesWatermark = categoryRepository.findMaxUpdatedAt();
+        FxRates rates = new FxRates(fxRateRepository.findRates());
+
+        boolean fullReloadDue = lastFullReload.plus(properties.fullReloadInterval()).isBefore(now);
+        if (previous == null || fullReloadDue
+                || !Objects.equals(previous.categoriesWatermark(), categoriesWatermark)
+                || !previous.rates().equals(rates)) {
+            Instant productsWatermark = productRepository.findMaxUpdatedAt();
+            CatalogSnapshot loaded = CatalogSnapshot.build(
+                    toDtos(productRepository.findAllAvailableWithCategory()),
+                    rates,
+                    productsWatermark,
+                    categoriesWatermark,
+                    now
+            );
+            lastFullReload = now;
+            log.info("Catalog snapshot reloaded with {} products", loaded.size());
+            return loaded;
+        }
+
+        Instant since = previous.productsWatermark() == null
+                ? Instant.EPOCH
+                : previous.productsWatermark().minus(WATERMARK_OVERLAP);
+        List<Product> changed = productRepository.findChangedSince(since);
+        if (changed.isEmpty()) {
+            return previous.touch(now);
+        }
+
+        Instant productsWatermark = changed.stream()
+                .map(Product::getUpdatedAt)
+                .max(Instant::compareTo)
+                .filter(max -> previous.productsWatermark() == null || max.isAfter(previous.productsWatermark()))
+                .orElse(previous.productsWatermark());
+        return previous.apply(toDtos(changed), productsWatermark, now);
+    }
+
+    private static List<ProductDto> toDtos(List<Product> products) {
+        Map<UUID, CategoryDto> categories = new HashMap<>();
+        return products.stream()
+                .map(p -> ProductMapper.toDto(p, p.getCategory() == null
+                        ? null
+                        : categories.computeIfAbsent(p.getCategory().getId(), id -> ProductMapper.toCategoryDto(p.getCategory()))))
+                .toList();
+    }
+}
@@ -0,0 +1,24 @@
+package com.specit.productlist.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-local version of the catalog, bumped after every committed product or category write made
+ * through this process and whenever {@link PriceSortKeyService} applies an exchange rate.
+ * Caches tag their entries with the version they were computed at and treat older entries as misses.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public void bump() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,17 @@
+package com.specit.productlist.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param revalidateAfter how long the cached listing is served before its version is checked again
+ * @param maxAge          {@code Cache-Control: max-age} sent to clients
+ */
+@ConfigurationProperties("catalog.categories")
+public record CategoryCacheProperties(
+        @DefaultValue("PT30S") Duration revalidateAfter,
+        @DefaultValue("PT60S") Duration maxAge
+) {
+}
@@ -0,0 +1,11 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.CategoryDto;
+
+import java.util.List;
+
+/**
+ * The category list together with its JSON encoding and a strong entity tag for that encoding.
+ */
+public record CategoryListing(List<CategoryDto> categories, byte[] json, String etag) {
+}
@@ -1,25 +1,101 @@
 package com.specit.productlist.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.specit.productlist.api.dto.CategoryDto;
 import com.specit.productlist.repository.CategoryRepository;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
 
 @Service
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private final CategoryCacheProperties properties;
+    private final CategoryVersion categoryVersion;
+    private final TransactionTemplate readOnlyTx;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    private volatile CachedListing cached;
+
+    public CategoryService(
+            CategoryRepository categoryRepository,
+            ObjectMapper objectMapper,
+            CategoryCacheProperties properties,
+            CategoryVersion categoryVersion,
+            PlatformTransactionManager transactionManager
+    ) {
         this.categoryRepository = categoryRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.categoryVersion = categoryVersion;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
     }
 
+    /**
+     * Reads the categories from the database, bypassing the cached listing.
+     */
     public List<CategoryDto> listCategories() {
         return categoryRepository.findAll(Sort.by(Sort.Order.asc("name")))
                 .stream()
                 .map(c -> new CategoryDto(c.getId(), c.getName()))
                 .toList();
     }
+
+    /**
+     * Serves the category listing from memory. The version ({@code max(updated_at)} and row count) is
+     * re-read at most once per {@code revalidateAfter}, or right away after a category write through this
+     * process ({@link CategoryVersion}), so product writes and catalog refreshes never cause a re-read;
+     * the list itself only when that version moved. A fresh hit opens no transaction and takes no
+     * pooled connection.
+     */
+    public CategoryListing cachedListing() {
+        CachedListing current = cached;
+        long version = categoryVersion.current();
+        long now = System.nanoTime();
+        if (current != null
+                && current.categoryVersion() == version
+                && now - current.checkedAt() < properties.revalidateAfter().toNanos()) {
+            return current.listing();
+        }
+
+        CategoryListing listing = readOnlyTx.execute(status -> revalidate(current));
+        cached = new CachedListing(listing, version, now);
+        return listing;
+    }
+
+    private CategoryListing revalidate(CachedListing current) {
+        String etag = currentEtag();
+        if (current != null && current.listing().etag().equals(etag)) {
+            return current.listing();
+        }
+        List<CategoryDto> categories = listCategories();
+        return new CategoryListing(categories, toJson(categories), etag);
+    }
+
+    private String currentEtag() {
+        Instant maxUpdatedAt = categoryRepository.findMaxUpdatedAt();
+        long micros = maxUpdatedAt == null
+                ? 0
+                : maxUpdatedAt.getEpochSecond() * 1_000_000 + maxUpdatedAt.getNano() / 1_000;
+        return "\"" + Long.toHexString(micros) + "-" + categoryRepository.count() + "\"";
+    }
+
+    private byte[] toJson(List<CategoryDto> categories) {
+        try {
+            return objectMapper.writeValueAsBytes(categories);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record CachedListing(CategoryListing listing, long categoryVersion, long checkedAt) {
+    }
 }
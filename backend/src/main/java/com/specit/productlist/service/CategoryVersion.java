@@ -0,0 +1,24 @@
+package com.specit.productlist.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-local version of the categories alone, bumped after every committed category write made
+ * through this process. Unlike {@link CatalogVersion} it ignores product writes, snapshot refreshes and
+ * exchange rates, none of which change the category listing.
+ */
+@Component
+public class CategoryVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public void bump() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,16 @@
+package com.specit.productlist.service;
+
+/**
+ * How {@code totalItems} of a product listing is computed.
+ */
+public enum CountMode {
+    /**
+     * Count of every matching product. Without a search term it may come from the count cache or the
+     * catalog snapshot, and is then reported as not exact, since either can lag the database.
+     */
+    exact,
+    /** Exact total without a search term, planner estimate with one. */
+    estimated,
+    /** No count query: the total is a lower bound derived from the page and {@code hasNext}. */
+    none
+}
@@ -0,0 +1,37 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.MoneyDto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+/**
+ * Exchange rates into the base currency, applied exactly like {@code normalize_price} in the database
+ * so that in-memory price orders match {@code products.price_sort_amount}.
+ *
+ * @param toBase rate by currency code; a currency without a rate has no normalized price
+ */
+public record FxRates(Map<String, BigDecimal> toBase) {
+
+    /**
+     * Scale of {@code products.price_sort_amount}.
+     */
+    public static final int SCALE = 4;
+
+    public FxRates {
+        toBase = Map.copyOf(toBase);
+    }
+
+    /**
+     * {@code price} in the base currency, or null when it is absent or its currency has no rate.
+     */
+    public BigDecimal normalize(MoneyDto price) {
+        if (price == null || price.amount() == null) {
+            return null;
+        }
+        BigDecimal rate = toBase.get(price.currency());
+        // PostgreSQL's round() rounds halves away from zero, which is HALF_UP for BigDecimal.
+        return rate == null ? null : price.amount().multiply(rate).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,30 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.PriceBucketDto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Price buckets delimited by ascending edges, numbered like PostgreSQL's
+ * {@code width_bucket(price, edges)}: bucket {@code i} holds prices in {@code [edges[i-1], edges[i])},
+ * bucket 0 everything below the first edge and bucket {@code n} everything from the last edge up.
+ */
+final class PriceBuckets {
+
+    private PriceBuckets() {
+    }
+
+    static List<PriceBucketDto> toDtos(List<BigDecimal> edges, long[] counts) {
+        List<PriceBucketDto> buckets = new ArrayList<>(edges.size() + 1);
+        for (int i = 0; i <= edges.size(); i++) {
+            buckets.add(new PriceBucketDto(
+                    i == 0 ? null : edges.get(i - 1),
+                    i == edges.size() ? null : edges.get(i),
+                    counts[i]
+            ));
+        }
+        return buckets;
+    }
+}
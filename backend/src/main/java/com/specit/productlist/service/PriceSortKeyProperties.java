@@ -0,0 +1,19 @@
+package com.specit.productlist.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled         re-normalize stored price sort keys when an exchange rate changes
+ * @param refreshInterval delay between checks of {@code fx_rates}
+ * @param batchSize       products visited per transaction while re-normalizing one currency
+ */
+@ConfigurationProperties("catalog.price-sort")
+public record PriceSortKeyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("PT30S") Duration refreshInterval,
+        @DefaultValue("1000") int batchSize
+) {
+}
@@ -0,0 +1,108 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.repository.FxRateRepository;
+import com.specit.productlist.repository.FxRateRepository.RenormalizedBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps {@code products.price_sort_amount} in step with {@code fx_rates}.
+ *
+ * <p>A database trigger normalizes each product as it is written; this job covers the other direction,
+ * rows whose rate changed after they were written. It polls the rates and re-normalizes the products of
+ * every currency whose rate differs from the last one applied, in id order and in batches of
+ * {@code batchSize}, each in its own transaction, so a rate change never holds one long lock over the
+ * table. Rows already up to date are skipped, which makes a pass cheap to repeat.
+ *
+ * <p>A write that started before a rate change commits with a key computed from the old rate. Each rate
+ * is therefore applied twice, one refresh apart, which catches every such write that commits within a
+ * refresh interval. This includes the rates found at startup, since one of them may have changed just
+ * before. Deleting a rate is not picked up: rows keep their last key until they are written again.
+ *
+ * <p>{@link CatalogVersion} is process-local, and in a multi-instance deployment only one instance
+ * rewrites a given row. Every instance therefore bumps its own version on each pass that applies a rate,
+ * whether or not it rewrote rows itself, so its caches follow the shared {@code fx_rates} table within
+ * a refresh interval of the change.
+ */
+@Service
+public class PriceSortKeyService {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceSortKeyService.class);
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final FxRateRepository fxRateRepository;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate batchTx;
+    private final PriceSortKeyProperties properties;
+
+    /**
+     * Rates applied so far, by currency. Only touched by the scheduler thread.
+     */
+    private final Map<String, Applied> applied = new HashMap<>();
+
+    public PriceSortKeyService(
+            FxRateRepository fxRateRepository,
+            CatalogVersion catalogVersion,
+            PlatformTransactionManager transactionManager,
+            PriceSortKeyProperties properties
+    ) {
+        this.fxRateRepository = fxRateRepository;
+        this.catalogVersion = catalogVersion;
+        this.batchTx = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.price-sort.refresh-interval:PT30S}")
+    public synchronized void refresh() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            for (Map.Entry<String, BigDecimal> rate : fxRateRepository.findRates().entrySet()) {
+                Applied previous = applied.get(rate.getKey());
+                boolean changed = previous == null || previous.rate().compareTo(rate.getValue()) != 0;
+                if (!changed && previous.confirmed()) {
+                    continue;
+                }
+                renormalize(rate.getKey());
+                catalogVersion.bump();
+                applied.put(rate.getKey(), new Applied(rate.getValue(), !changed));
+            }
+        } catch (RuntimeException e) {
+            // Rates not marked as applied are retried on the next tick.
+            log.warn("Price sort key refresh failed", e);
+        }
+    }
+
+    private void renormalize(String currency) {
+        UUID after = FIRST_ID;
+        long updated = 0;
+        while (after != null) {
+            UUID from = after;
+            RenormalizedBatch batch = batchTx.execute(status ->
+                    fxRateRepository.renormalize(currency, from, properties.batchSize()));
+            updated += batch.updated();
+            after = batch.lastId();
+        }
+        if (updated > 0) {
+            log.info("Re-normalized price sort keys of {} {} products", updated, currency);
+        }
+    }
+
+    /**
+     * @param confirmed whether the rate was applied again after any write that could still have read the
+     *                  previous rate
+     */
+    private record Applied(BigDecimal rate, boolean confirmed) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.specit.productlist.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Watermark of the change feed: the {@code updated_at} and id of the last change a client has seen.
+ * Clients only ever see the opaque {@link #encode() encoded} form.
+ */
+public record ProductChangeToken(Instant updatedAt, UUID id) {
+
+    /**
+     * Position before every change, used when a client has no token yet.
+     */
+    public static final ProductChangeToken START = new ProductChangeToken(Instant.EPOCH, new UUID(0, 0));
+
+    private static final String SEPARATOR = "\n";
+
+    public String encode() {
+        // PostgreSQL keeps timestamps at microsecond precision, so micros round-trip exactly.
+        String raw = ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static ProductChangeToken decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split(SEPARATOR, 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Malformed change token");
+        }
+        return new ProductChangeToken(
+                Instant.EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS),
+                UUID.fromString(parts[1])
+        );
+    }
+}
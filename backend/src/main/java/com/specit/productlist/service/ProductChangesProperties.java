@@ -0,0 +1,17 @@
+package com.specit.productlist.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param settleTime how old a change must be before the feed hands it out. {@code updated_at} is set
+ *                   before the writing transaction commits, so a younger watermark could skip a change
+ *                   that commits later with an earlier timestamp. Must exceed the longest write transaction.
+ */
+@ConfigurationProperties("catalog.changes")
+public record ProductChangesProperties(
+        @DefaultValue("PT5S") Duration settleTime
+) {
+}
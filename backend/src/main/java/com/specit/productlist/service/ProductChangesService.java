@@ -0,0 +1,80 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.ProductChangesDto;
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.repository.ProductJdbcRepository;
+import com.specit.productlist.repository.ProductJdbcRepository.ProductChange;
+import com.specit.productlist.repository.ProductJdbcRepository.ProductRemoval;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Change feed for catalog mirrors: every product whose {@code updated_at} moved after a watermark,
+ * paged by keyset over {@code (updated_at, id)}.
+ *
+ * <p>Products leave the catalog either by becoming unavailable, which the feed reports like any other
+ * change, or by being deleted. A delete leaves a tombstone in {@code product_deletions}, and the feed
+ * reports its id under {@code removed}, placed by {@code deleted_at} on the same keyset as the changes.
+ * Category renames do not touch products and are not part of the feed.
+ */
+@Service
+public class ProductChangesService {
+
+    // PostgreSQL orders uuids by their bytes, unsigned; UUID.compareTo compares signed halves.
+    private static final Comparator<ProductChangeToken> ORDER = Comparator
+            .comparing(ProductChangeToken::updatedAt)
+            .thenComparing(token -> token.id().getMostSignificantBits(), Long::compareUnsigned)
+            .thenComparing(token -> token.id().getLeastSignificantBits(), Long::compareUnsigned);
+
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ProductChangesProperties properties;
+
+    public ProductChangesService(ProductJdbcRepository productJdbcRepository, ProductChangesProperties properties) {
+        this.productJdbcRepository = productJdbcRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * @param since token from a previous call, or null to start from the beginning
+     * @throws IllegalArgumentException if {@code since} is not a valid token
+     */
+    public ProductChangesDto changesSince(String since, int limit) {
+        ProductChangeToken after = since == null || since.isBlank()
+                ? ProductChangeToken.START
+                : ProductChangeToken.decode(since);
+
+        // One extra row tells whether the client should come back right away. The first limit + 1 entries
+        // of the merged feed are among the first limit + 1 of each side.
+        List<ProductChange> changes = productJdbcRepository.findChangedAfter(
+                after.updatedAt(), after.id(), properties.settleTime(), limit + 1);
+        List<ProductRemoval> removals = productJdbcRepository.findRemovedAfter(
+                after.updatedAt(), after.id(), properties.settleTime(), limit + 1);
+
+        List<ProductDto> items = new ArrayList<>();
+        List<UUID> removed = new ArrayList<>();
+        ProductChangeToken next = after;
+        int c = 0;
+        int r = 0;
+        while (items.size() + removed.size() < limit && (c < changes.size() || r < removals.size())) {
+            ProductChangeToken change = c < changes.size()
+                    ? new ProductChangeToken(changes.get(c).updatedAt(), changes.get(c).product().id())
+                    : null;
+            ProductChangeToken removal = r < removals.size()
+                    ? new ProductChangeToken(removals.get(r).deletedAt(), removals.get(r).id())
+                    : null;
+            if (removal == null || (change != null && ORDER.compare(change, removal) < 0)) {
+                items.add(changes.get(c++).product());
+                next = change;
+            } else {
+                removed.add(removals.get(r++).id());
+                next = removal;
+            }
+        }
+        boolean hasMore = c < changes.size() || r < removals.size();
+        return new ProductChangesDto(items, removed, next.encode(), hasMore);
+    }
+}
@@ -0,0 +1,15 @@
+package com.specit.productlist.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param cacheTtl upper bound on the age of a cached count, covering writes made outside this process
+ */
+@ConfigurationProperties("catalog.count")
+public record ProductCountProperties(
+        @DefaultValue("PT60S") Duration cacheTtl
+) {
+}
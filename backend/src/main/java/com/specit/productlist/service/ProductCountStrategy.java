@@ -0,0 +1,96 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.repository.ProductStatisticsRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides how the total of a listing is obtained, in order of cost:
+ * <ol>
+ *     <li>derived from the page itself when the page is the last one,</li>
+ *     <li>a lower bound when the caller asked for {@link CountMode#none},</li>
+ *     <li>the count of the global or per-category available set when there is no search term, which is
+ *     exact when it was just run and reported as not exact when it comes from the cache, since a write
+ *     through another instance may have changed it since,</li>
+ *     <li>a planner estimate for {@link CountMode#estimated} searches,</li>
+ *     <li>a real {@code count(*)} otherwise.</li>
+ * </ol>
+ */
+@Service
+public class ProductCountStrategy {
+
+    private final ProductStatisticsRepository statisticsRepository;
+    private final CatalogVersion catalogVersion;
+    private final ProductCountProperties properties;
+    private final Map<CountKey, CachedCount> cache = new ConcurrentHashMap<>();
+
+    public ProductCountStrategy(
+            ProductStatisticsRepository statisticsRepository,
+            CatalogVersion catalogVersion,
+            ProductCountProperties properties
+    ) {
+        this.statisticsRepository = statisticsRepository;
+        this.catalogVersion = catalogVersion;
+        this.properties = properties;
+    }
+
+    /**
+     * @param query      normalized query the page was fetched for
+     * @param offset     number of rows skipped before the page
+     * @param pageItems  number of rows on the page
+     * @param hasNext    whether at least one more row exists after the page
+     * @param countQuery exact count of the rows matching {@code query}
+     */
+    public TotalCount total(
+            ProductQuery query,
+            CountMode mode,
+            long offset,
+            int pageItems,
+            boolean hasNext,
+            LongSupplier countQuery
+    ) {
+        long seen = offset + pageItems;
+        if (!hasNext && (pageItems > 0 || offset == 0)) {
+            return new TotalCount(seen, true);
+        }
+        if (mode == CountMode.none) {
+            return new TotalCount(hasNext ? seen + 1 : seen, false);
+        }
+        if (query.q() == null) {
+            return cachedCount(query.categoryId(), countQuery);
+        }
+        if (mode == CountMode.estimated) {
+            long estimate = statisticsRepository.estimateAvailableMatching(query.q(), query.categoryId());
+            return new TotalCount(Math.max(estimate, hasNext ? seen + 1 : seen), false);
+        }
+        return new TotalCount(countQuery.getAsLong(), true);
+    }
+
+    private TotalCount cachedCount(UUID categoryId, LongSupplier countQuery) {
+        CountKey key = new CountKey(categoryId);
+        long version = catalogVersion.current();
+        long now = System.nanoTime();
+
+        CachedCount cached = cache.get(key);
+        if (cached != null && cached.version() == version && now - cached.computedAt() < properties.cacheTtl().toNanos()) {
+            return new TotalCount(cached.value(), false);
+        }
+
+        long value = countQuery.getAsLong();
+        cache.put(key, new CachedCount(value, version, now));
+        return new TotalCount(value, true);
+    }
+
+    /**
+     * {@code categoryId} is null for the count of all available products.
+     */
+    private record CountKey(UUID categoryId) {
+    }
+
+    private record CachedCount(long value, long version, long computedAt) {
+    }
+}
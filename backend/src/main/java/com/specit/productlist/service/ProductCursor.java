@@ -0,0 +1,53 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.ProductDto;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last item of a cursor page: the sort key of that item plus its id.
+ * Clients only ever see the opaque {@link #encode() encoded} form.
+ *
+ * @param price the item's normalized price ({@code price_sort_amount}) for price order, null otherwise
+ */
+public record ProductCursor(ProductQuery.Sort sort, String name, BigDecimal price, UUID id) {
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * @param priceSortAmount the stored sort key of {@code last}; the displayed price is in the
+     *                        product's own currency and cannot be used to seek
+     */
+    public static ProductCursor after(ProductQuery.Sort sort, ProductDto last, BigDecimal priceSortAmount) {
+        return new ProductCursor(sort, last.name(), sort == ProductQuery.Sort.price_asc ? priceSortAmount : null, last.id());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                sort.name(),
+                id.toString(),
+                price == null ? "" : price.toPlainString(),
+                name);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static ProductCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split(SEPARATOR, 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new ProductCursor(
+                ProductQuery.Sort.valueOf(parts[0]),
+                parts[3],
+                parts[2].isEmpty() ? null : new BigDecimal(parts[2]),
+                UUID.fromString(parts[1])
+        );
+    }
+}
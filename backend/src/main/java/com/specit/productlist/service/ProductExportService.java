@@ -0,0 +1,55 @@
+package com.specit.productlist.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.specit.productlist.repository.ProductJdbcRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+@Service
+public class ProductExportService {
+
+    private static final int FETCH_SIZE = 500;
+
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate primaryTx;
+
+    public ProductExportService(
+            ProductJdbcRepository productJdbcRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.productJdbcRepository = productJdbcRepository;
+        this.objectMapper = objectMapper;
+        // Not read-only, so that replica routing keeps it on the primary: a cursor held open for the
+        // whole export on a standby can be cancelled part way by a recovery conflict.
+        this.primaryTx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Writes every available product as newline-delimited JSON. Rows go from the database cursor to
+     * {@code out} one at a time, so memory use does not depend on the catalog size.
+     */
+    public void exportAvailable(UUID categoryId, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            primaryTx.executeWithoutResult(status -> productJdbcRepository.streamAvailable(categoryId, FETCH_SIZE, product -> {
+                try {
+                    generator.writeObject(product);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+    }
+}
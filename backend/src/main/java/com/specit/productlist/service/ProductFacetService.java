@@ -0,0 +1,106 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.CategoryFacetDto;
+import com.specit.productlist.api.dto.ProductFacetsDto;
+import com.specit.productlist.repository.ProductStatisticsRepository;
+import com.specit.productlist.repository.ProductStatisticsRepository.FacetCounts;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Category counts and price buckets for the products a listing with the same {@code q} and
+ * {@code categoryId} would show.
+ *
+ * <p>Filtered facets cost one aggregate query. Unfiltered facets never reach the database per
+ * request: they are read off the {@link CatalogSnapshot} when one is loaded, and otherwise cached
+ * until the {@link CatalogVersion} moves or {@code cacheTtl} passes.
+ */
+@Service
+public class ProductFacetService {
+
+    private static final Comparator<CategoryFacetDto> BY_COUNT = Comparator
+            .comparingLong(CategoryFacetDto::count).reversed()
+            .thenComparing(CategoryFacetDto::name);
+
+    private final ProductStatisticsRepository statisticsRepository;
+    private final CatalogSnapshotService catalogSnapshots;
+    private final CatalogVersion catalogVersion;
+    private final ProductFacetsProperties properties;
+    private final List<BigDecimal> priceEdges;
+    private final TransactionTemplate readOnlyTx;
+
+    private volatile CachedFacets unfiltered;
+
+    public ProductFacetService(
+            ProductStatisticsRepository statisticsRepository,
+            CatalogSnapshotService catalogSnapshots,
+            CatalogVersion catalogVersion,
+            ProductFacetsProperties properties,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.statisticsRepository = statisticsRepository;
+        this.catalogSnapshots = catalogSnapshots;
+        this.catalogVersion = catalogVersion;
+        this.properties = properties;
+        this.priceEdges = properties.priceEdges().stream().sorted().distinct().toList();
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public ProductFacetsDto facets(String q, UUID categoryId) {
+        ProductQuery normalized = ProductQuery.normalize(new ProductQuery(q, categoryId, null, 1, 1));
+        if (normalized.q() != null || normalized.categoryId() != null) {
+            return query(normalized.q(), normalized.categoryId());
+        }
+
+        Optional<CatalogSnapshot> snapshot = catalogSnapshots.current();
+        if (snapshot.isPresent()) {
+            return sorted(snapshot.get().facets(priceEdges));
+        }
+        return cachedUnfiltered();
+    }
+
+    private ProductFacetsDto cachedUnfiltered() {
+        CachedFacets cached = unfiltered;
+        long version = catalogVersion.current();
+        long now = System.nanoTime();
+        if (cached != null && cached.version() == version && now - cached.computedAt() < properties.cacheTtl().toNanos()) {
+            return cached.facets();
+        }
+
+        ProductFacetsDto facets = query(null, null);
+        unfiltered = new CachedFacets(facets, version, now);
+        return facets;
+    }
+
+    /**
+     * Read-only so that it runs on a replica when replica routing is enabled; snapshot and cache hits
+     * never get here, so they take no pooled connection.
+     */
+    private ProductFacetsDto query(String term, UUID categoryId) {
+        FacetCounts counts = readOnlyTx.execute(status -> statisticsRepository.facets(term, categoryId, priceEdges));
+        return sorted(new ProductFacetsDto(
+                counts.total(),
+                counts.categories(),
+                PriceBuckets.toDtos(priceEdges, counts.bucketCounts())
+        ));
+    }
+
+    private static ProductFacetsDto sorted(ProductFacetsDto facets) {
+        return new ProductFacetsDto(
+                facets.total(),
+                facets.categories().stream().sorted(BY_COUNT).toList(),
+                facets.priceBuckets()
+        );
+    }
+
+    private record CachedFacets(ProductFacetsDto facets, long version, long computedAt) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.specit.productlist.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param priceEdges ascending boundaries of the price buckets in the base currency; {@code n} edges make
+ *                   {@code n + 1} buckets
+ * @param cacheTtl   upper bound on the age of the cached unfiltered facets when no snapshot is loaded
+ */
+@ConfigurationProperties("catalog.facets")
+public record ProductFacetsProperties(
+        @DefaultValue({"10", "25", "50", "100", "250", "500", "1000"}) List<BigDecimal> priceEdges,
+        @DefaultValue("PT60S") Duration cacheTtl
+) {
+}
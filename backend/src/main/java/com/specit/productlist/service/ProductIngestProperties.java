@@ -0,0 +1,19 @@
+package com.specit.productlist.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param batchSize    products written per transaction; a connection is held only while one batch is written
+ * @param batchTimeout upper bound on a single batch transaction
+ * @param maxErrors    errors listed in the result; further errors are only counted
+ */
+@ConfigurationProperties("catalog.ingest")
+public record ProductIngestProperties(
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("PT30S") Duration batchTimeout,
+        @DefaultValue("100") int maxErrors
+) {
+}
@@ -0,0 +1,189 @@
+package com.specit.productlist.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.specit.productlist.api.dto.BulkIngestErrorDto;
+import com.specit.productlist.api.dto.BulkIngestResultDto;
+import com.specit.productlist.api.dto.MoneyDto;
+import com.specit.productlist.api.dto.ProductUpsertDto;
+import com.specit.productlist.repository.ProductIngestRepository;
+import com.specit.productlist.repository.ProductIngestRepository.MergeCounts;
+import com.specit.productlist.repository.ProductIngestRepository.StagedProduct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bulk upsert of products read from a JSON array or an NDJSON stream.
+ *
+ * <p>The input is parsed incrementally and written in batches of {@code batchSize}, each in its own
+ * transaction, so a connection is only held while one batch is merged and memory use does not grow
+ * with the input. Invalid products and failed batches are reported and skipped; they never abort the
+ * products around them. Malformed JSON ends the run, keeping the batches written so far.
+ *
+ * <p>When an id occurs more than once in a batch, only its last occurrence is written; the earlier
+ * ones are counted as {@code superseded}, so every received product lands in exactly one count.
+ */
+@Service
+public class ProductIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductIngestService.class);
+
+    private static final BigDecimal MAX_PRICE = new BigDecimal("9999999999.99");
+
+    private final ProductIngestRepository ingestRepository;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
+    private final ProductLookupService productLookupService;
+    private final ProductIngestProperties properties;
+    private final TransactionTemplate batchTx;
+
+    public ProductIngestService(
+            ProductIngestRepository ingestRepository,
+            ObjectMapper objectMapper,
+            CatalogVersion catalogVersion,
+            ProductLookupService productLookupService,
+            ProductIngestProperties properties,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.ingestRepository = ingestRepository;
+        this.objectMapper = objectMapper;
+        this.catalogVersion = catalogVersion;
+        this.productLookupService = productLookupService;
+        this.properties = properties;
+        this.batchTx = new TransactionTemplate(transactionManager);
+        this.batchTx.setTimeout((int) properties.batchTimeout().toSeconds());
+    }
+
+    public BulkIngestResultDto ingest(InputStream body) throws IOException {
+        Tally tally = new Tally(properties.maxErrors());
+        List<StagedProduct> batch = new ArrayList<>(properties.batchSize());
+        int item = 0;
+
+        try (MappingIterator<ProductUpsertDto> products = objectMapper.readerFor(ProductUpsertDto.class).readValues(body)) {
+            while (products.hasNextValue()) {
+                ProductUpsertDto product = products.nextValue();
+                tally.received++;
+                String problem = validate(product);
+                if (problem != null) {
+                    tally.fail(item, tally.batches, problem);
+                } else {
+                    batch.add(new StagedProduct(item, product));
+                    if (batch.size() == properties.batchSize()) {
+                        write(batch, tally);
+                        batch.clear();
+                    }
+                }
+                item++;
+            }
+        } catch (JsonProcessingException e) {
+            tally.error(item, tally.batches, "Malformed input: " + e.getOriginalMessage());
+        }
+
+        if (!batch.isEmpty()) {
+            write(batch, tally);
+        }
+        return tally.toResult();
+    }
+
+    private void write(List<StagedProduct> batch, Tally tally) {
+        int number = tally.batches++;
+        Map<UUID, StagedProduct> latest = new LinkedHashMap<>();
+        batch.forEach(staged -> latest.put(staged.product().id(), staged));
+        List<StagedProduct> rows = List.copyOf(latest.values());
+        try {
+            BatchOutcome outcome = batchTx.execute(status -> {
+                ingestRepository.stage(rows);
+                List<Integer> rejected = ingestRepository.rejectUnknownCategories();
+                return new BatchOutcome(rejected, ingestRepository.merge());
+            });
+            if (outcome.merged().inserted() + outcome.merged().updated() > 0) {
+                catalogVersion.bump();
+                productLookupService.evict(latest.keySet());
+            }
+            outcome.rejected().forEach(rejected -> tally.fail(rejected, number, "categoryId does not exist"));
+            tally.inserted += outcome.merged().inserted();
+            tally.updated += outcome.merged().updated();
+            tally.unchanged += rows.size() - outcome.rejected().size()
+                    - outcome.merged().inserted() - outcome.merged().updated();
+            tally.superseded += batch.size() - rows.size();
+        } catch (DataAccessException e) {
+            log.warn("Bulk ingest batch {} failed", number, e);
+            tally.failed += batch.size();
+            tally.error(null, number, "Batch failed: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private static String validate(ProductUpsertDto product) {
+        if (product == null) {
+            return "product must be an object";
+        }
+        if (product.id() == null) {
+            return "id is required";
+        }
+        if (product.name() == null || product.name().isBlank()) {
+            return "name is required";
+        }
+        MoneyDto price = product.price();
+        if (price != null) {
+            if (price.amount() == null) {
+                return "price.amount is required";
+            }
+            if (price.amount().signum() < 0 || price.amount().compareTo(MAX_PRICE) > 0) {
+                return "price.amount is out of range";
+            }
+            if (price.currency() == null || price.currency().length() != 3) {
+                return "price.currency must be a 3-letter code";
+            }
+        }
+        return null;
+    }
+
+    private record BatchOutcome(List<Integer> rejected, MergeCounts merged) {
+    }
+
+    private static final class Tally {
+
+        private final int maxErrors;
+        private final List<BulkIngestErrorDto> errors = new ArrayList<>();
+        private int received;
+        private int inserted;
+        private int updated;
+        private int unchanged;
+        private int superseded;
+        private int failed;
+        private int batches;
+
+        private Tally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(int item, int batch, String message) {
+            failed++;
+            error(item, batch, message);
+        }
+
+        private void error(Integer item, int batch, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkIngestErrorDto(item, batch, message));
+            }
+        }
+
+        private BulkIngestResultDto toResult() {
+            return new BulkIngestResultDto(received, inserted, updated, unchanged, superseded, failed, List.copyOf(errors));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.specit.productlist.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Serialized listing responses keyed by the normalized query and the body format, so requests that
+ * differ only in spelling ({@code q=" Lamp"} and {@code q=lamp}) share an entry.
+ *
+ * <p>Entries are weighed by their size in bytes and evicted by Caffeine's W-TinyLFU policy once
+ * {@code maxSize} is reached, and expire {@code ttl} after they were built. Keys carry the
+ * {@link CatalogVersion} read before the body was built; the whole cache is dropped as soon as the
+ * version moves, and a body is only stored if the version is still the same once it is built, so a
+ * body that may have read data from before a write or a snapshot swap is served once and never
+ * cached. Hits, misses and evictions are published as the {@code productListing} cache meters.
+ *
+ * <p>Misses are built through a {@link SingleFlight}: when a burst of requests misses on the same key,
+ * one of them queries the database and the rest wait for its body, so a hot query costs one data and
+ * one count query per catalog version rather than one per request. This also applies with the cache
+ * disabled.
+ */
+@Service
+public class ProductListingCache {
+
+    static final String CACHE_NAME = "productListing";
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final CatalogVersion catalogVersion;
+    private final ProductListingCacheProperties properties;
+    private final ProductListingProperties listingProperties;
+    private final ProductListingMetrics metrics;
+    private final Cache<Key, byte[]> cache;
+    private final SingleFlight<Key, byte[]> misses;
+
+    private volatile long cachedVersion;
+
+    public ProductListingCache(
+            ProductService productService,
+            ObjectMapper objectMapper,
+            Jackson2ObjectMapperBuilder objectMapperBuilder,
+            CatalogVersion catalogVersion,
+            ProductListingCacheProperties properties,
+            ProductListingProperties listingProperties,
+            ProductListingMetrics metrics,
+            MeterRegistry meterRegistry
+    ) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        this.catalogVersion = catalogVersion;
+        this.properties = properties;
+        this.listingProperties = listingProperties;
+        this.metrics = metrics;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((Key key, byte[] body) -> body.length)
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.misses = new SingleFlight<>(listingProperties.coalesceTimeout());
+    }
+
+    /**
+     * Body of {@link ProductService#listAvailableProducts(ProductQuery, CountMode)} in {@code format}.
+     */
+    public byte[] listing(ProductQuery query, CountMode countMode, Format format) {
+        ProductQuery normalized = ProductQuery.normalize(query);
+        CountMode mode = Objects.requireNonNullElse(countMode, CountMode.exact);
+        long version = catalogVersion.current();
+        Key key = new Key(normalized, mode, format, version);
+        if (!properties.enabled()) {
+            return build(key);
+        }
+
+        if (version != cachedVersion) {
+            cachedVersion = version;
+            cache.invalidateAll();
+        }
+
+        byte[] body = cache.getIfPresent(key);
+        if (body == null) {
+            // Deliberately not cache.get(key, loader): that holds a map lock while the database is queried.
+            body = build(key);
+        }
+        return body;
+    }
+
+    private byte[] build(Key key) {
+        Supplier<byte[]> load = () -> {
+            byte[] body = serialize(productService.listAvailableProducts(key.query(), key.countMode()), key.format());
+            if (properties.enabled() && catalogVersion.current() == key.catalogVersion()) {
+                cache.put(key, body);
+            }
+            return body;
+        };
+        if (!listingProperties.coalesce()) {
+            return load.get();
+        }
+        return misses.execute(key, load, outcome -> metrics.coalesced(key.query(), outcome));
+    }
+
+    private byte[] serialize(Object response, Format format) {
+        try {
+            long started = RequestTiming.start();
+            byte[] body = (format == Format.cbor ? cborMapper : objectMapper).writeValueAsBytes(response);
+            RequestTiming.record(RequestTiming.Stage.serialization, started);
+            return body;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Encodings of a cached body.
+     */
+    public enum Format {
+        json,
+        /** Binary JSON data model (RFC 8949); same fields as {@link #json}. */
+        cbor
+    }
+
+    private record Key(ProductQuery query, CountMode countMode, Format format, long catalogVersion) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.specit.productlist.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * @param enabled whether serialized listing responses are cached
+ * @param maxSize upper bound on the total size of the cached response bodies
+ * @param ttl     how long a response is served after it was built, bounding staleness for writes
+ *                this process does not see
+ */
+@ConfigurationProperties("catalog.listing-cache")
+public record ProductListingCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("32MB") DataSize maxSize,
+        @DefaultValue("PT30S") Duration ttl
+) {
+}
@@ -0,0 +1,126 @@
+package com.specit.productlist.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Listing latency and result sizes, tagged by query shape so that slow shapes can be told apart:
+ * whether a search term and a category filter are present, the sort, and how deep the page is.
+ * <ul>
+ *     <li>{@code catalog.listing}: whole listing call, also tagged with where it was served from,</li>
+ *     <li>{@code catalog.listing.query}: database round trips, tagged {@code kind=data|count},</li>
+ *     <li>{@code catalog.listing.results}: rows returned per call,</li>
+ *     <li>{@code catalog.listing.coalesced}: requests that joined another request's identical
+ *     computation instead of running their own, tagged {@code outcome=shared|failed|timeout}.</li>
+ * </ul>
+ * The first three publish percentile histograms.
+ */
+@Component
+public class ProductListingMetrics {
+
+    static final String LISTING = "catalog.listing";
+    static final String QUERY = "catalog.listing.query";
+    static final String RESULTS = "catalog.listing.results";
+    static final String COALESCED = "catalog.listing.coalesced";
+
+    /**
+     * Where a listing was answered from.
+     */
+    public enum Source {
+        snapshot,
+        database
+    }
+
+    /**
+     * Database round trip being timed.
+     */
+    public enum QueryKind {
+        data,
+        count
+    }
+
+    private final MeterRegistry registry;
+
+    public ProductListingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Records a finished listing. {@code query} must be normalized; {@code cursor} marks a keyset
+     * scroll, which has no page depth.
+     */
+    public void listed(Timer.Sample sample, ProductQuery query, boolean cursor, Source source, int results) {
+        Tags shape = shape(query, cursor);
+        sample.stop(Timer.builder(LISTING)
+                .description("Product listing latency")
+                .tags(shape)
+                .tag("source", source.name())
+                .publishPercentileHistogram()
+                .register(registry));
+        DistributionSummary.builder(RESULTS)
+                .description("Products returned per listing")
+                .baseUnit("products")
+                .tags(shape)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(results);
+    }
+
+    public <T> T timeQuery(QueryKind kind, ProductQuery query, boolean cursor, Supplier<T> call) {
+        return Timer.builder(QUERY)
+                .description("Product listing database query latency")
+                .tags(shape(query, cursor))
+                .tag("kind", kind.name())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(() -> RequestTiming.time(stage(kind), call));
+    }
+
+    /**
+     * Records a request that joined an in-flight computation of the same normalized {@code query}.
+     */
+    void coalesced(ProductQuery query, SingleFlight.Outcome outcome) {
+        Counter.builder(COALESCED)
+                .description("Listing requests answered by another request's computation")
+                .tags(shape(query, false))
+                .tag("outcome", outcome.name())
+                .register(registry)
+                .increment();
+    }
+
+    private static Tags shape(ProductQuery query, boolean cursor) {
+        return Tags.of(
+                "q", Boolean.toString(query.q() != null),
+                "category", Boolean.toString(query.categoryId() != null),
+                "sort", query.sort().name(),
+                "depth", cursor ? "cursor" : depth(query.page())
+        );
+    }
+
+    private static String depth(int page) {
+        if (page == 1) {
+            return "1";
+        }
+        if (page <= 10) {
+            return "2-10";
+        }
+        if (page <= 100) {
+            return "11-100";
+        }
+        return "101+";
+    }
+
+    private static RequestTiming.Stage stage(QueryKind kind) {
+        return kind == QueryKind.count ? RequestTiming.Stage.count : RequestTiming.Stage.data;
+    }
+}
@@ -0,0 +1,27 @@
+package com.specit.productlist.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param readPath        how listing rows are read from the database
+ * @param coalesce        whether concurrent requests for an equal normalized query share one
+ *                        computation instead of each querying the database
+ * @param coalesceTimeout how long a request waits for a shared computation before failing with 503
+ */
+@ConfigurationProperties("catalog.listing")
+public record ProductListingProperties(
+        @DefaultValue("projection") ReadPath readPath,
+        @DefaultValue("true") boolean coalesce,
+        @DefaultValue("PT5S") Duration coalesceTimeout
+) {
+
+    public enum ReadPath {
+        /** Column projection mapped straight into DTOs. */
+        projection,
+        /** Managed {@code Product} entities with their category, mapped afterwards. */
+        entity
+    }
+}
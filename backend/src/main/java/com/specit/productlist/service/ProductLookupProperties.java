@@ -0,0 +1,20 @@
+package com.specit.productlist.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maxIds          upper bound on the ids of one batch-get request
+ * @param cacheMaxEntries upper bound on the number of cached products, not-found markers included
+ * @param cacheTtl        how long a product is served after it was read, bounding staleness for writes
+ *                        this process does not see
+ */
+@ConfigurationProperties("catalog.lookup")
+public record ProductLookupProperties(
+        @DefaultValue("500") int maxIds,
+        @DefaultValue("100000") long cacheMaxEntries,
+        @DefaultValue("PT60S") Duration cacheTtl
+) {
+}
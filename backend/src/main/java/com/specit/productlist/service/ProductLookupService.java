@@ -0,0 +1,127 @@
+package com.specit.productlist.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.specit.productlist.api.dto.ProductBatchGetResponseDto;
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.api.dto.ProductLookupDto;
+import com.specit.productlist.repository.ProductJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Resolves batches of product ids through a per-id cache. The ids a batch misses are read with one
+ * {@code id = ANY(?)} query, and ids without a product are cached as not-found markers so that
+ * repeated lookups of deleted ids do not reach the database either. A batch served entirely from the
+ * cache opens no transaction and takes no pooled connection.
+ *
+ * <p>Writes through this process evict the ids they touched once they commit; a category write
+ * clears the cache, since any cached product may carry that category. Writes by other processes are
+ * bounded by {@code cacheTtl}. Hits, misses and evictions are published as the {@code productLookup}
+ * cache meters.
+ */
+@Service
+public class ProductLookupService {
+
+    static final String CACHE_NAME = "productLookup";
+
+    private final ProductJdbcRepository productJdbcRepository;
+    private final CatalogVersion catalogVersion;
+    private final ProductLookupProperties properties;
+    private final TransactionTemplate readOnlyTx;
+    private final Cache<UUID, Optional<ProductDto>> cache;
+
+    public ProductLookupService(
+            ProductJdbcRepository productJdbcRepository,
+            CatalogVersion catalogVersion,
+            ProductLookupProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.productJdbcRepository = productJdbcRepository;
+        this.catalogVersion = catalogVersion;
+        this.properties = properties;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.cacheMaxEntries())
+                .expireAfterWrite(properties.cacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Products of any availability for {@code ids}, one entry per id in request order.
+     */
+    public ProductBatchGetResponseDto lookup(List<UUID> ids) {
+        if (ids == null || ids.isEmpty() || ids.contains(null)) {
+            throw new IllegalArgumentException("ids must be a non-empty list of product ids");
+        }
+        if (ids.size() > properties.maxIds()) {
+            throw new IllegalArgumentException("At most " + properties.maxIds() + " ids per request");
+        }
+
+        Set<UUID> unique = new LinkedHashSet<>(ids);
+        Map<UUID, Optional<ProductDto>> resolved = new HashMap<>(cache.getAllPresent(unique));
+
+        List<UUID> missing = unique.stream()
+                .filter(id -> !resolved.containsKey(id))
+                .toList();
+        if (!missing.isEmpty()) {
+            // Read before the query: a write that commits meanwhile bumps it, and its eviction may
+            // already have run, so the rows read here must not stay cached.
+            long version = catalogVersion.current();
+            // Deliberately not cache.getAll(keys, loader): that holds map locks while the database is queried.
+            List<ProductDto> found = readOnlyTx.execute(status -> productJdbcRepository.findByIds(missing));
+            Map<UUID, ProductDto> loaded = new HashMap<>();
+            for (ProductDto product : found) {
+                loaded.put(product.id(), product);
+            }
+            Map<UUID, Optional<ProductDto>> fetched = new HashMap<>();
+            for (UUID id : missing) {
+                fetched.put(id, Optional.ofNullable(loaded.get(id)));
+            }
+            if (catalogVersion.current() == version) {
+                cache.putAll(fetched);
+                // Writers bump before they evict. A bump seen only now may belong to a write whose
+                // eviction ran between the check above and putAll, so take the rows back out.
+                if (catalogVersion.current() != version) {
+                    cache.invalidateAll(fetched.keySet());
+                }
+            }
+            resolved.putAll(fetched);
+        }
+
+        return new ProductBatchGetResponseDto(ids.stream()
+                .map(id -> {
+                    ProductDto product = resolved.get(id).orElse(null);
+                    return new ProductLookupDto(id, product != null, product);
+                })
+                .toList());
+    }
+
+    /**
+     * Drops the cached entries of {@code ids}; call after the write that touched them committed and
+     * bumped {@link CatalogVersion}.
+     */
+    public void evict(Collection<UUID> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,41 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.CategoryDto;
+import com.specit.productlist.api.dto.MoneyDto;
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.model.Category;
+import com.specit.productlist.model.Product;
+
+public final class ProductMapper {
+
+    private ProductMapper() {
+    }
+
+    public static ProductDto toDto(Product p) {
+        return toDto(p, toCategoryDto(p.getCategory()));
+    }
+
+    /**
+     * Maps {@code p} with an already built category, so callers can share one {@link CategoryDto} per category.
+     */
+    public static ProductDto toDto(Product p, CategoryDto categoryDto) {
+        MoneyDto money = null;
+        if (p.getPriceAmount() != null) {
+            money = new MoneyDto(p.getPriceAmount(), p.getPriceCurrency());
+        }
+
+        return new ProductDto(
+                p.getId(),
+                p.getName(),
+                p.getDescriptionSummary(),
+                p.getImageUrl(),
+                money,
+                p.isAvailable(),
+                categoryDto
+        );
+    }
+
+    public static CategoryDto toCategoryDto(Category category) {
+        return category == null ? null : new CategoryDto(category.getId(), category.getName());
+    }
+}
@@ -1,5 +1,7 @@
 package com.specit.productlist.service;
 
+import java.util.Locale;
+import java.util.Objects;
 import java.util.UUID;
 
 public record ProductQuery(
@@ -11,6 +13,28 @@ public record ProductQuery(
 ) {
     public enum Sort {
         name_asc,
-        price_asc
+        price_asc,
+        /** Trigram similarity to {@code q}, best match first; behaves as {@code name_asc} without {@code q}. */
+        relevance
+    }
+
+    /**
+     * Canonical form of {@code q}: trimmed, lowercased search term or none, defaults applied and the
+     * page size capped. Equal listings have equal normalized queries, whichever API served them.
+     */
+    public static ProductQuery normalize(ProductQuery q) {
+        if (q == null) {
+            return new ProductQuery(null, null, Sort.name_asc, 1, 20);
+        }
+
+        String term = q.q() == null || q.q().isBlank() ? null : q.q().trim().toLowerCase(Locale.ROOT);
+        Sort sort = Objects.requireNonNullElse(q.sort(), Sort.name_asc);
+        if (sort == Sort.relevance && term == null) {
+            sort = Sort.name_asc;
+        }
+        int page = q.page() <= 0 ? 1 : q.page();
+        int pageSize = q.pageSize() <= 0 ? 20 : Math.min(q.pageSize(), 200);
+
+        return new ProductQuery(term, q.categoryId(), sort, page, pageSize);
     }
 }
@@ -1,105 +1,241 @@
 package com.specit.productlist.service;
 
-import com.specit.productlist.api.dto.CategoryDto;
-import com.specit.productlist.api.dto.MoneyDto;
+import com.specit.productlist.api.dto.ProductCursorPageDto;
 import com.specit.productlist.api.dto.ProductDto;
 import com.specit.productlist.api.dto.ProductListResponseDto;
-import com.specit.productlist.model.Category;
 import com.specit.productlist.model.Product;
+import com.specit.productlist.repository.NameCollation;
 import com.specit.productlist.repository.ProductRepository;
+import com.specit.productlist.repository.ProductWindowRow;
+import com.specit.productlist.repository.SearchPatterns;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.JoinType;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class ProductService {
 
     private final ProductRepository productRepository;
-
-    public ProductService(ProductRepository productRepository) {
+    private final CatalogSnapshotService catalogSnapshots;
+    private final ProductCountStrategy countStrategy;
+    private final ProductListingProperties listingProperties;
+    private final ProductListingMetrics metrics;
+    private final TransactionTemplate readOnlyTx;
+
+    public ProductService(
+            ProductRepository productRepository,
+            CatalogSnapshotService catalogSnapshots,
+            ProductCountStrategy countStrategy,
+            ProductListingProperties listingProperties,
+            ProductListingMetrics metrics,
+            PlatformTransactionManager transactionManager
+    ) {
         this.productRepository = productRepository;
+        this.catalogSnapshots = catalogSnapshots;
+        this.countStrategy = countStrategy;
+        this.listingProperties = listingProperties;
+        this.metrics = metrics;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
     }
 
     public ProductListResponseDto listAvailableProducts(ProductQuery query) {
-        ProductQuery normalized = normalize(query);
-
-        PageRequest pageRequest = PageRequest.of(
-                normalized.page() - 1,
-                normalized.pageSize(),
-                toSpringSort(normalized.sort())
-        );
-
-        Specification<Product> spec = (root, q, cb) -> {
-            root.fetch("category", JoinType.LEFT);
-            q.distinct(true);
-
-            var predicates = cb.conjunction();
-            predicates = cb.and(predicates, cb.isTrue(root.get("isAvailable")));
-
-            if (normalized.categoryId() != null) {
-                predicates = cb.and(predicates, cb.equal(root.get("category").get("id"), normalized.categoryId()));
-            }
+        return listAvailableProducts(query, CountMode.exact);
+    }
 
-            if (normalized.q() != null && !normalized.q().isBlank()) {
-                String like = "%" + normalized.q().trim().toLowerCase() + "%";
-                predicates = cb.and(predicates, cb.like(cb.lower(root.get("name")), like));
+    /**
+     * Pages served from the snapshot never open a transaction, so they take no pooled connection. The
+     * database path runs in one read-only transaction so that the page and its count come from one
+     * snapshot of one database, which is a replica when replica routing is enabled.
+     */
+    public ProductListResponseDto listAvailableProducts(ProductQuery query, CountMode countMode) {
+        Timer.Sample sample = metrics.start();
+        ProductQuery normalized = ProductQuery.normalize(query);
+        CountMode mode = Objects.requireNonNullElse(countMode, CountMode.exact);
+
+        if (normalized.sort() != ProductQuery.Sort.relevance) {
+            Optional<CatalogSnapshot> snapshot = catalogSnapshots.current();
+            if (snapshot.isPresent()) {
+                ProductListResponseDto response = snapshot.get().list(normalized, mode);
+                metrics.listed(sample, normalized, false, ProductListingMetrics.Source.snapshot, response.items().size());
+                return response;
             }
+        }
 
-            return predicates;
-        };
+        return readOnlyTx.execute(status -> listFromDatabase(normalized, mode, sample));
+    }
 
-        Page<Product> page = productRepository.findAll(spec, pageRequest);
+    private ProductListResponseDto listFromDatabase(ProductQuery normalized, CountMode mode, Timer.Sample sample) {
+        Specification<Product> spec = availableProducts(normalized);
+        long offset = (long) (normalized.page() - 1) * normalized.pageSize();
+
+        // One extra row tells whether a next page exists, which often makes the count unnecessary.
+        List<ProductWindowRow> rows = metrics.timeQuery(ProductListingMetrics.QueryKind.data, normalized, false,
+                () -> fetchWindow(spec, toSpringSort(normalized.sort()), offset, normalized.pageSize() + 1));
+        boolean hasNext = rows.size() > normalized.pageSize();
+        List<ProductDto> items = products(hasNext ? rows.subList(0, normalized.pageSize()) : rows);
+
+        TotalCount total = countStrategy.total(
+                normalized,
+                mode,
+                offset,
+                items.size(),
+                hasNext,
+                () -> metrics.timeQuery(ProductListingMetrics.QueryKind.count, normalized, false,
+                        () -> productRepository.count(spec))
+        );
 
+        metrics.listed(sample, normalized, false, ProductListingMetrics.Source.database, items.size());
         return new ProductListResponseDto(
-                page.getContent().stream().map(this::toDto).toList(),
+                items,
                 normalized.page(),
                 normalized.pageSize(),
-                page.getTotalElements(),
-                page.getTotalPages()
+                total.value(),
+                (int) Math.ceil((double) total.value() / normalized.pageSize()),
+                total.exact(),
+                hasNext
         );
     }
 
-    private ProductDto toDto(Product p) {
-        Category category = p.getCategory();
-        CategoryDto categoryDto = category == null ? null : new CategoryDto(category.getId(), category.getName());
+    /**
+     * Keyset variant of {@link #listAvailableProducts}: seeks past {@code cursor} instead of
+     * skipping {@code (page - 1) * pageSize} rows, and never counts. {@code query.page()} is ignored.
+     */
+    @Transactional(readOnly = true)
+    public ProductCursorPageDto scrollAvailableProducts(ProductQuery query, String cursor) {
+        Timer.Sample sample = metrics.start();
+        ProductQuery normalized = ProductQuery.normalize(query);
+        if (normalized.sort() == ProductQuery.Sort.relevance) {
+            throw new IllegalArgumentException("Cursor pagination does not support relevance sort");
+        }
 
-        MoneyDto money = null;
-        if (p.getPriceAmount() != null) {
-            money = new MoneyDto(p.getPriceAmount(), p.getPriceCurrency());
+        Specification<Product> spec = availableProducts(normalized);
+        if (cursor != null && !cursor.isBlank()) {
+            ProductCursor after = ProductCursor.decode(cursor);
+            if (after.sort() != normalized.sort()) {
+                throw new IllegalArgumentException("Cursor was issued for sort " + after.sort());
+            }
+            spec = spec.and(seekAfter(after));
         }
 
-        return new ProductDto(
-                p.getId(),
-                p.getName(),
-                p.getDescriptionSummary(),
-                p.getImageUrl(),
-                money,
-                p.isAvailable(),
-                categoryDto
-        );
+        Specification<Product> window = spec;
+        List<ProductWindowRow> rows = metrics.timeQuery(ProductListingMetrics.QueryKind.data, normalized, true,
+                () -> fetchWindow(window, toSpringSort(normalized.sort()), 0, normalized.pageSize() + 1));
+
+        boolean hasMore = rows.size() > normalized.pageSize();
+        List<ProductWindowRow> page = hasMore ? rows.subList(0, normalized.pageSize()) : rows;
+        String nextCursor = hasMore ? nextCursor(normalized.sort(), page.get(page.size() - 1)) : null;
+        List<ProductDto> items = products(page);
+
+        metrics.listed(sample, normalized, true, ProductListingMetrics.Source.database, items.size());
+        return new ProductCursorPageDto(items, normalized.pageSize(), nextCursor);
     }
 
-    private ProductQuery normalize(ProductQuery q) {
-        if (q == null) {
-            return new ProductQuery(null, null, ProductQuery.Sort.name_asc, 1, 20);
+    private static String nextCursor(ProductQuery.Sort sort, ProductWindowRow last) {
+        return ProductCursor.after(sort, last.product(), last.priceSortAmount()).encode();
+    }
+
+    private static List<ProductDto> products(List<ProductWindowRow> rows) {
+        return rows.stream().map(ProductWindowRow::product).toList();
+    }
+
+    private List<ProductWindowRow> fetchWindow(Specification<Product> spec, Sort sort, long offset, int limit) {
+        if (listingProperties.readPath() == ProductListingProperties.ReadPath.entity) {
+            List<Product> entities = productRepository.findWindow(spec, sort, offset, limit);
+            return RequestTiming.time(RequestTiming.Stage.mapping, () -> entities.stream()
+                    .map(p -> new ProductWindowRow(ProductMapper.toDto(p), p.getPriceSortAmount()))
+                    .toList());
         }
+        return productRepository.findDtoWindow(spec, sort, offset, limit);
+    }
+
+    private Specification<Product> availableProducts(ProductQuery normalized) {
+        return (root, q, cb) -> {
+            long started = RequestTiming.start();
+            // Only an entity query can fetch; projections join on their own and counts cannot be ordered.
+            if (q.getResultType() == Product.class) {
+                root.fetch("category", JoinType.LEFT);
+            }
+            boolean rowQuery = q.getResultType() != Long.class && q.getResultType() != long.class;
 
-        ProductQuery.Sort sort = Objects.requireNonNullElse(q.sort(), ProductQuery.Sort.name_asc);
-        int page = q.page() <= 0 ? 1 : q.page();
-        int pageSize = q.pageSize() <= 0 ? 20 : Math.min(q.pageSize(), 200);
+            var predicates = cb.conjunction();
+            predicates = cb.and(predicates, cb.isTrue(root.get("isAvailable")));
+
+            if (normalized.categoryId() != null) {
+                predicates = cb.and(predicates, cb.equal(root.get("category").get("id"), normalized.categoryId()));
+            }
 
-        return new ProductQuery(q.q(), q.categoryId(), sort, page, pageSize);
+            if (normalized.q() != null) {
+                Expression<String> name = cb.lower(root.get("name"));
+                predicates = cb.and(predicates, cb.like(name, SearchPatterns.contains(normalized.q()), SearchPatterns.ESCAPE));
+
+                if (rowQuery && normalized.sort() == ProductQuery.Sort.relevance) {
+                    q.orderBy(
+                            cb.desc(cb.function("similarity", Double.class, name, cb.literal(normalized.q()))),
+                            cb.asc(NameCollation.collated(cb, root.get("name"))),
+                            cb.asc(root.get("id"))
+                    );
+                }
+            }
+
+            RequestTiming.record(RequestTiming.Stage.spec, started);
+            return predicates;
+        };
+    }
+
+    /**
+     * Row-value comparison {@code (sortKey, id) > (?, ?)} spelled out for the criteria API,
+     * matching the ordering produced by {@link #toSpringSort}.
+     */
+    private Specification<Product> seekAfter(ProductCursor after) {
+        return (root, q, cb) -> {
+            Expression<String> name = NameCollation.collated(cb, root.get("name"));
+            Path<UUID> id = root.get("id");
+            Predicate afterName = cb.or(
+                    cb.greaterThan(name, after.name()),
+                    cb.and(cb.equal(name, after.name()), cb.greaterThan(id, after.id()))
+            );
+            if (after.sort() != ProductQuery.Sort.price_asc) {
+                return afterName;
+            }
+
+            // Prices sort ascending with nulls last, so a null cursor price only seeks within the null tail.
+            Path<BigDecimal> price = root.get("priceSortAmount");
+            if (after.price() == null) {
+                return cb.and(cb.isNull(price), afterName);
+            }
+            return cb.or(
+                    cb.greaterThan(price, after.price()),
+                    cb.and(cb.equal(price, after.price()), afterName),
+                    cb.isNull(price)
+            );
+        };
     }
 
     private Sort toSpringSort(ProductQuery.Sort sort) {
+        if (sort == ProductQuery.Sort.relevance) {
+            // Ordered inside availableProducts, which has the search term at hand.
+            return Sort.unsorted();
+        }
+        // id is the final tie-breaker so that offset pages and cursors see one stable order.
         if (sort == ProductQuery.Sort.price_asc) {
-            return Sort.by(Sort.Order.asc("priceAmount"), Sort.Order.asc("name"));
+            // Normalized to the base currency, so prices in different currencies compare by value.
+            return Sort.by(Sort.Order.asc("priceSortAmount"), Sort.Order.asc("name"), Sort.Order.asc("id"));
         }
-        return Sort.by(Sort.Order.asc("name"));
+        return Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id"));
     }
 }
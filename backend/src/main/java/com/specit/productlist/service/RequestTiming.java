@@ -0,0 +1,165 @@
+package com.specit.productlist.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Stage timings of the request being served on the current thread, bound by
+ * {@code RequestTimingFilter}. Recording is a thread-local lookup and an array add; outside a timed
+ * request, including on threads a request hands work to, every call is a no-op.
+ *
+ * <p>Stages can nest: {@link Stage#spec} is spent inside {@link Stage#data} and {@link Stage#count}.
+ */
+public final class RequestTiming {
+
+    public enum Stage {
+        /** Servlet filters and dispatch up to the handler, less any admission wait. */
+        filter,
+        admission,
+        /** Argument binding and validation: from the handler's dispatch to its first timed stage. */
+        validation,
+        /** Building criteria predicates from the query's Specification. */
+        spec,
+        data,
+        count,
+        /** Entity to DTO mapping, on the entity read path. */
+        mapping,
+        serialization
+    }
+
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+    private static final Stage[] STAGES = Stage.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt;
+    private final long[] nanos = new long[STAGES.length];
+    private long dispatchedAt = NOT_TIMED;
+    private boolean validated;
+    private long bodyWriteStartedAt = NOT_TIMED;
+
+    private RequestTiming(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Starts timing a request on the current thread; {@link #end()} must follow.
+     */
+    public static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The request timed on this thread, or null.
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Start of a timed section, to be passed to {@link #record}.
+     */
+    public static long start() {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return NOT_TIMED;
+        }
+        long now = System.nanoTime();
+        timing.closeValidation(now);
+        return now;
+    }
+
+    /**
+     * Adds the time since {@code startedAt}, as returned by {@link #start()}, to {@code stage}.
+     */
+    public static void record(Stage stage, long startedAt) {
+        if (startedAt == NOT_TIMED) {
+            return;
+        }
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[stage.ordinal()] += System.nanoTime() - startedAt;
+        }
+    }
+
+    public static <T> T time(Stage stage, Supplier<T> work) {
+        long started = start();
+        try {
+            return work.get();
+        } finally {
+            record(stage, started);
+        }
+    }
+
+    /**
+     * The handler is about to be invoked; everything before it, except admission, was filters.
+     */
+    public void dispatched(long now) {
+        dispatchedAt = now;
+        nanos[Stage.filter.ordinal()] = now - startedAt - nanos[Stage.admission.ordinal()];
+    }
+
+    /**
+     * The message converter is about to write the body; serialization by the converter runs from here
+     * until {@link #completed}.
+     */
+    public void bodyWriteStarted(long now) {
+        bodyWriteStartedAt = now;
+    }
+
+    public void completed(long now) {
+        if (bodyWriteStartedAt != NOT_TIMED) {
+            nanos[Stage.serialization.ordinal()] += now - bodyWriteStartedAt;
+            bodyWriteStartedAt = NOT_TIMED;
+        }
+    }
+
+    public long elapsedNanos(long now) {
+        return now - startedAt;
+    }
+
+    /**
+     * {@code Server-Timing} header value: every recorded stage plus {@code total}, in milliseconds.
+     */
+    public String serverTiming(long now) {
+        StringBuilder header = new StringBuilder(128);
+        for (Stage stage : STAGES) {
+            long n = nanos[stage.ordinal()];
+            if (n > 0) {
+                header.append(stage.name()).append(";dur=").append(millis(n)).append(", ");
+            }
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos(now))).toString();
+    }
+
+    /**
+     * Recorded stages in milliseconds, in stage order.
+     */
+    public Map<String, Double> stageMillis() {
+        Map<String, Double> stages = new LinkedHashMap<>();
+        for (Stage stage : STAGES) {
+            long n = nanos[stage.ordinal()];
+            if (n > 0) {
+                stages.put(stage.name(), millis(n));
+            }
+        }
+        return stages;
+    }
+
+    public static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private void closeValidation(long now) {
+        if (dispatchedAt != NOT_TIMED && !validated) {
+            validated = true;
+            nanos[Stage.validation.ordinal()] = now - dispatchedAt;
+        }
+    }
+}
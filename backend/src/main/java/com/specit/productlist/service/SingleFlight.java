@@ -0,0 +1,94 @@
+package com.specit.productlist.service;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one computation per key at a time. A caller that arrives while a computation for an
+ * equal key is in flight waits for that computation's result, or its exception, instead of starting
+ * its own. Results are not kept once the computation finishes; caching is the caller's business.
+ *
+ * <p>The computation runs on the thread of the caller that started it. Waiters block on a
+ * {@link CompletableFuture}, which parks without holding a monitor.
+ */
+final class SingleFlight<K, V> {
+
+    /**
+     * How a caller that joined an in-flight computation fared.
+     */
+    enum Outcome {
+        /** Got the shared result. */
+        shared,
+        /** Got the shared computation's exception. */
+        failed,
+        /** Gave up waiting. */
+        timeout
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+
+    SingleFlight(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Result of {@code work}, computed by this caller or shared with a concurrent caller of an equal
+     * key. {@code joined} is told the outcome when this caller waited on someone else's computation.
+     *
+     * @throws QueryTimeoutException if this caller waited longer than the timeout
+     */
+    V execute(K key, Supplier<V> work, Consumer<Outcome> joined) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+        if (running == null) {
+            return run(key, own, work);
+        }
+
+        try {
+            V value = running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            joined.accept(Outcome.shared);
+            return value;
+        } catch (ExecutionException e) {
+            joined.accept(Outcome.failed);
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            joined.accept(Outcome.timeout);
+            throw new QueryTimeoutException("Gave up waiting " + timeout + " for a shared computation");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Interrupted while waiting for a shared computation", e);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private V run(K key, CompletableFuture<V> own, Supplier<V> work) {
+        try {
+            V value = work.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.SuggestionDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index over product and category names for typeahead.
+ *
+ * <p>Every name is indexed under its lowercased full text and under each of its words, so
+ * {@code "lam"} finds both "Lamp shade" and "Oak lamp". Keys are held in one sorted array and a prefix
+ * is the contiguous key range found by binary search, which gives trie lookups without a node object
+ * per character.
+ *
+ * <p>Suggestions are ranked by match tier, then statically: a match at the start of the name beats a
+ * match on a later word, categories come before products, and shorter names before longer ones. Static
+ * order is the suggestion's ordinal; a rank is {@code ordinal} for name matches and
+ * {@code ordinal + size} for word matches. Each key keeps only its best {@link #MAX_LIMIT} ranks, since
+ * no answer can use more, and each block of {@value #BLOCK} keys keeps the best ranks of the whole
+ * block, so a wide range such as every name starting with a common word is answered mostly from block
+ * summaries. Answers for one- and two-character prefixes are computed once at build time.
+ */
+public final class SuggestionIndex {
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final int BLOCK = 64;
+    private static final int PRECOMPUTED_PREFIX_LENGTH = 2;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int[] NONE = new int[0];
+    private static final Comparator<SuggestionDto> STATIC_ORDER = Comparator
+            .comparing(SuggestionDto::type)
+            .thenComparingInt((SuggestionDto s) -> s.text().length())
+            .thenComparing(s -> s.text().toLowerCase(Locale.ROOT))
+            .thenComparing(SuggestionDto::text)
+            .thenComparing(SuggestionDto::id);
+
+    public static final SuggestionIndex EMPTY = build(List.of());
+
+    private final SuggestionDto[] suggestions;
+    private final String[] keys;
+    private final int[][] ranks;
+    private final int[][] blockRanks;
+    private final Map<String, int[]> shortPrefixes;
+
+    private SuggestionIndex(SuggestionDto[] suggestions, String[] keys, int[][] ranks) {
+        this.suggestions = suggestions;
+        this.keys = keys;
+        this.ranks = ranks;
+
+        this.blockRanks = new int[(keys.length + BLOCK - 1) / BLOCK][];
+        for (int b = 0; b < blockRanks.length; b++) {
+            TopRanks top = new TopRanks(MAX_LIMIT, suggestions.length);
+            for (int k = b * BLOCK; k < Math.min(keys.length, (b + 1) * BLOCK); k++) {
+                top.offerAll(ranks[k]);
+            }
+            blockRanks[b] = top.toArray();
+        }
+
+        this.shortPrefixes = new HashMap<>();
+        for (String key : keys) {
+            for (int length = 1; length <= Math.min(PRECOMPUTED_PREFIX_LENGTH, key.length()); length++) {
+                String prefix = key.substring(0, length);
+                if (!shortPrefixes.containsKey(prefix)) {
+                    shortPrefixes.put(prefix, top(prefix, MAX_LIMIT));
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexes {@code candidates}. Each one is its own suggestion, so products that share a name are
+     * all suggested, each with its id.
+     */
+    public static SuggestionIndex build(Collection<SuggestionDto> candidates) {
+        SuggestionDto[] suggestions = candidates.stream()
+                .filter(c -> c.text() != null && !c.text().isBlank())
+                .sorted(STATIC_ORDER)
+                .toArray(SuggestionDto[]::new);
+
+        int size = suggestions.length;
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            String name = suggestions[ordinal].text().trim().toLowerCase(Locale.ROOT);
+            postings.computeIfAbsent(name, k -> new ArrayList<>()).add(ordinal);
+            for (String word : WORD_SEPARATOR.split(name)) {
+                if (!word.isEmpty() && !name.startsWith(word)) {
+                    postings.computeIfAbsent(word, k -> new ArrayList<>()).add(ordinal + size);
+                }
+            }
+        }
+
+        String[] keys = postings.keySet().toArray(String[]::new);
+        Arrays.sort(keys);
+        int[][] ranks = new int[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            ranks[i] = postings.get(keys[i]).stream()
+                    .mapToInt(Integer::intValue)
+                    .distinct()
+                    .sorted()
+                    .limit(MAX_LIMIT)
+                    .toArray();
+        }
+        return new SuggestionIndex(suggestions, keys, ranks);
+    }
+
+    /**
+     * Up to {@code limit} (at most {@link #MAX_LIMIT}) suggestions whose name or one of its words
+     * starts with {@code prefix}, ignoring case, best first.
+     */
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        String normalized = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        int n = Math.min(limit, MAX_LIMIT);
+        if (normalized.isEmpty() || n <= 0) {
+            return List.of();
+        }
+
+        int[] best = normalized.length() <= PRECOMPUTED_PREFIX_LENGTH
+                ? shortPrefixes.getOrDefault(normalized, NONE)
+                : top(normalized, n);
+        List<SuggestionDto> result = new ArrayList<>(Math.min(n, best.length));
+        for (int i = 0; i < best.length && i < n; i++) {
+            result.add(suggestions[best[i] % suggestions.length]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return suggestions.length;
+    }
+
+    /**
+     * Best {@code limit} ranks over the key range of {@code prefix}, one per suggestion.
+     */
+    private int[] top(String prefix, int limit) {
+        TopRanks top = new TopRanks(limit, suggestions.length);
+        int to = endOfRange(prefix);
+        int k = lowerBound(prefix);
+        while (k < to) {
+            if (k % BLOCK == 0 && k + BLOCK <= to) {
+                top.offerAll(blockRanks[k / BLOCK]);
+                k += BLOCK;
+            } else {
+                top.offerAll(ranks[k]);
+                k++;
+            }
+        }
+        return top.toArray();
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First index after the keys starting with {@code prefix}.
+     */
+    private int endOfRange(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0 || keys[mid].startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The lowest ranks offered so far, at most one per suggestion, kept sorted.
+     */
+    private static final class TopRanks {
+
+        private final int[] ranks;
+        private final int size;
+        private int count;
+
+        TopRanks(int capacity, int size) {
+            this.ranks = new int[capacity];
+            this.size = size;
+        }
+
+        /**
+         * Offers ascending {@code candidates}, stopping at the first one that cannot make the cut.
+         */
+        void offerAll(int[] candidates) {
+            for (int rank : candidates) {
+                if (count == ranks.length && rank >= ranks[count - 1]) {
+                    return;
+                }
+                offer(rank);
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ranks, count);
+        }
+
+        private void offer(int rank) {
+            int ordinal = rank % size;
+            for (int i = 0; i < count; i++) {
+                if (ranks[i] % size == ordinal) {
+                    if (ranks[i] <= rank) {
+                        return;
+                    }
+                    System.arraycopy(ranks, i + 1, ranks, i, count - i - 1);
+                    count--;
+                    break;
+                }
+            }
+            int at = count;
+            while (at > 0 && ranks[at - 1] > rank) {
+                at--;
+            }
+            if (at == ranks.length) {
+                return;
+            }
+            int kept = Math.min(count, ranks.length - 1);
+            System.arraycopy(ranks, at, ranks, at + 1, kept - at);
+            ranks[at] = rank;
+            count = kept + 1;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.specit.productlist.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled             build and serve the typeahead index
+ * @param refreshInterval     delay between checks for catalog changes
+ * @param fullRebuildInterval interval between rebuilds that read every name again; the refreshes in
+ *                            between read only what changed
+ * @param overlap             how far before the newest change already applied each refresh starts
+ *                            reading, so that changes committed out of {@code updated_at} order are seen
+ * @param fetchSize           rows per round trip while reading product names or changes
+ */
+@ConfigurationProperties("catalog.suggest")
+public record SuggestionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("PT5S") Duration refreshInterval,
+        @DefaultValue("PT15M") Duration fullRebuildInterval,
+        @DefaultValue("PT5S") Duration overlap,
+        @DefaultValue("5000") int fetchSize
+) {
+}
@@ -0,0 +1,188 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.api.dto.SuggestionDto;
+import com.specit.productlist.repository.CategoryRepository;
+import com.specit.productlist.repository.ProductJdbcRepository;
+import com.specit.productlist.repository.ProductJdbcRepository.ProductChange;
+import com.specit.productlist.repository.ProductJdbcRepository.ProductRemoval;
+import com.specit.productlist.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serves typeahead suggestions from a {@link SuggestionIndex} held in memory. Requests never reach the
+ * database: the index is rebuilt in the background when the catalog changes and published with a
+ * single volatile write. Until the first build completes, suggestions are empty.
+ *
+ * <p>The names behind the index are kept between refreshes. A refresh reads only the products changed
+ * or deleted since the newest change it has applied, starting {@code overlap} earlier so that a change
+ * committed after a newer one is still seen; re-reading a change is harmless. Categories are reloaded
+ * whole when they changed. Every {@code fullRebuildInterval} the names are read again from scratch,
+ * which also catches categories deleted through other processes.
+ */
+@Service
+public class SuggestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestionService.class);
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final ProductRepository productRepository;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryVersion categoryVersion;
+    private final TransactionTemplate readOnlyTx;
+    private final SuggestionProperties properties;
+    private final Clock clock;
+
+    private volatile SuggestionIndex index = SuggestionIndex.EMPTY;
+
+    // Guarded by this; only refresh() touches them.
+    private final Map<UUID, String> productNames = new HashMap<>();
+    private final Map<UUID, String> categoryNames = new HashMap<>();
+    private CategoriesSeen categoriesSeen;
+    private Instant productsWatermark = Instant.EPOCH;
+    private Instant removalsWatermark = Instant.EPOCH;
+    private Instant lastFullBuild = Instant.MIN;
+
+    public SuggestionService(
+            ProductRepository productRepository,
+            ProductJdbcRepository productJdbcRepository,
+            CategoryRepository categoryRepository,
+            CategoryVersion categoryVersion,
+            PlatformTransactionManager transactionManager,
+            SuggestionProperties properties
+    ) {
+        this.productRepository = productRepository;
+        this.productJdbcRepository = productJdbcRepository;
+        this.categoryRepository = categoryRepository;
+        this.categoryVersion = categoryVersion;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.properties = properties;
+        this.clock = Clock.systemUTC();
+    }
+
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        return index.suggest(prefix, limit);
+    }
+
+    /**
+     * Applies the catalog changes made since the last refresh, or reads every name again when a full
+     * rebuild is due, and publishes a new index if any suggestion changed.
+     */
+    @Scheduled(fixedDelayString = "${catalog.suggest.refresh-interval:PT5S}")
+    public synchronized void refresh() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                Instant now = clock.instant();
+                if (lastFullBuild.plus(properties.fullRebuildInterval()).isBefore(now)) {
+                    rebuild();
+                    lastFullBuild = now;
+                } else if (applyChanges()) {
+                    publish();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Keep serving the previous index; the next tick starts again from the same watermarks.
+            log.warn("Suggestion index refresh failed", e);
+        }
+    }
+
+    private void rebuild() {
+        // Read before the scan: changes that race with it are read again by the next refresh.
+        Instant watermark = productRepository.findMaxUpdatedAt();
+        productNames.clear();
+        productJdbcRepository.streamAvailableNames(properties.fetchSize(), productNames::put);
+        loadCategories();
+        productsWatermark = watermark == null ? Instant.EPOCH : watermark;
+        removalsWatermark = productsWatermark;
+        publish();
+        log.info("Suggestion index rebuilt with {} entries", index.size());
+    }
+
+    /**
+     * @return whether any suggestion changed
+     */
+    private boolean applyChanges() {
+        boolean changed = false;
+        int pageSize = properties.fetchSize();
+
+        Instant after = productsWatermark.minus(properties.overlap());
+        UUID afterId = FIRST_ID;
+        List<ProductChange> changes;
+        do {
+            changes = productJdbcRepository.findChangedAfter(after, afterId, Duration.ZERO, pageSize);
+            for (ProductChange change : changes) {
+                ProductDto product = change.product();
+                changed |= product.isAvailable()
+                        ? !product.name().equals(productNames.put(product.id(), product.name()))
+                        : productNames.remove(product.id()) != null;
+                after = change.updatedAt();
+                afterId = product.id();
+            }
+            productsWatermark = max(productsWatermark, after);
+        } while (changes.size() == pageSize);
+
+        after = removalsWatermark.minus(properties.overlap());
+        afterId = FIRST_ID;
+        List<ProductRemoval> removals;
+        do {
+            removals = productJdbcRepository.findRemovedAfter(after, afterId, Duration.ZERO, pageSize);
+            for (ProductRemoval removal : removals) {
+                changed |= productNames.remove(removal.id()) != null;
+                after = removal.deletedAt();
+                afterId = removal.id();
+            }
+            removalsWatermark = max(removalsWatermark, after);
+        } while (removals.size() == pageSize);
+
+        if (!currentCategories().equals(categoriesSeen)) {
+            loadCategories();
+            changed = true;
+        }
+        return changed;
+    }
+
+    private void loadCategories() {
+        CategoriesSeen seen = currentCategories();
+        categoryNames.clear();
+        categoryRepository.findAll().forEach(c -> categoryNames.put(c.getId(), c.getName()));
+        categoriesSeen = seen;
+    }
+
+    private CategoriesSeen currentCategories() {
+        return new CategoriesSeen(categoryVersion.current(), categoryRepository.findMaxUpdatedAt());
+    }
+
+    private void publish() {
+        List<SuggestionDto> candidates = new ArrayList<>(categoryNames.size() + productNames.size());
+        categoryNames.forEach((id, name) -> candidates.add(new SuggestionDto(name, SuggestionDto.Type.category, id)));
+        productNames.forEach((id, name) -> candidates.add(new SuggestionDto(name, SuggestionDto.Type.product, id)));
+        index = SuggestionIndex.build(candidates);
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private record CategoriesSeen(long categoryVersion, Instant watermark) {
+    }
+}
@@ -0,0 +1,4 @@
+package com.specit.productlist.service;
+
+public record TotalCount(long value, boolean exact) {
+}
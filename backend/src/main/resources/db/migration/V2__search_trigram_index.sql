@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Serves lower(name) LIKE '%term%' for listed products. GIN cannot order by similarity (only GiST
+-- supports the KNN <-> operator), so relevance ranks just the rows this filter matched and sorts them.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_products_available_name_trgm ON products USING gin (lower(name) gin_trgm_ops)
+    WHERE is_available;
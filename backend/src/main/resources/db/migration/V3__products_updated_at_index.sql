@@ -0,0 +1,2 @@
+-- Keyset order of the change feed (GET /api/v1/products/changes): seeks on (updated_at, id).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_products_updated_at_id ON products (updated_at, id);
@@ -0,0 +1,23 @@
+-- One partial index per listing order (ProductQuery.Sort name_asc / price_asc), with and without the
+-- category filter, so a listing page is an ordered index walk that stops after LIMIT rows instead of a
+-- top-N sort over every listed product. Names are keyed in the "C" collation the listings order by
+-- (NameCollation), and the trailing id matches the id tie-breaker of the ORDER BY.
+-- INCLUDE columns make count queries and the category join index-only; the text columns of a page are
+-- read from the heap for the returned rows only. Built concurrently outside a transaction (see the .conf
+-- file), so the table stays writable while they build.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_products_listing_name ON products (name COLLATE "C", id)
+    INCLUDE (price_amount, price_currency, category_id)
+    WHERE is_available;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_products_listing_price ON products (price_amount, name, id)
+    INCLUDE (price_currency, category_id)
+    WHERE is_available;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_products_listing_category_name ON products (category_id, name COLLATE "C", id)
+    INCLUDE (price_amount, price_currency)
+    WHERE is_available;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_products_listing_category_price ON products (category_id, price_amount, name, id)
+    INCLUDE (price_currency)
+    WHERE is_available;
+
+-- Superseded: every read that filtered on these columns is served by the indexes above.
+DROP INDEX CONCURRENTLY IF EXISTS ix_products_available;
+DROP INDEX CONCURRENTLY IF EXISTS ix_products_available_category;
@@ -0,0 +1,35 @@
+-- Exchange rates into the base currency the price order is kept in. The base currency has rate 1.
+CREATE TABLE IF NOT EXISTS fx_rates (
+    currency CHAR(3) PRIMARY KEY,
+    rate_to_base NUMERIC(18,8) NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    CONSTRAINT fx_rates_rate_positive CHECK (rate_to_base > 0)
+);
+
+INSERT INTO fx_rates (currency, rate_to_base) VALUES ('USD', 1) ON CONFLICT (currency) DO NOTHING;
+
+-- A price in the base currency, or NULL when the product is unpriced or its currency has no rate.
+-- The single definition of the normalized price: used by the trigger below and by the job that
+-- re-normalizes rows after a rate changes (PriceSortKeyService).
+CREATE OR REPLACE FUNCTION normalize_price(amount NUMERIC, currency CHAR(3)) RETURNS NUMERIC
+    LANGUAGE sql STABLE AS
+$$
+    SELECT round(amount * r.rate_to_base, 4) FROM fx_rates r WHERE r.currency = normalize_price.currency
+$$;
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS price_sort_amount NUMERIC(18,4) NULL;
+
+CREATE OR REPLACE FUNCTION products_set_price_sort_amount() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    NEW.price_sort_amount := normalize_price(NEW.price_amount, NEW.price_currency);
+    RETURN NEW;
+END
+$$;
+
+-- Covers every write path (JPA, bulk ingest) without each one having to know the rates.
+DROP TRIGGER IF EXISTS trg_products_price_sort_amount ON products;
+CREATE TRIGGER trg_products_price_sort_amount
+    BEFORE INSERT OR UPDATE OF price_amount, price_currency ON products
+    FOR EACH ROW EXECUTE FUNCTION products_set_price_sort_amount();
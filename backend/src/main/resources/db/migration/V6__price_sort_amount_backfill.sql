@@ -0,0 +1,31 @@
+-- Fills price_sort_amount for the rows written before V5 added the trigger, in id order and in batches
+-- of 10000 that each commit on their own, so the backfill never holds row locks on the whole table.
+-- Runs outside a transaction (see the .conf file), which is what allows COMMIT inside the DO block.
+-- Rows already up to date are skipped, so an interrupted run can simply be repeated.
+DO
+$$
+DECLARE
+    after_id UUID := '00000000-0000-0000-0000-000000000000';
+    batch_last_id UUID;
+BEGIN
+    LOOP
+        WITH batch AS (
+            SELECT id FROM products
+            WHERE id > after_id
+            ORDER BY id
+            LIMIT 10000
+        ), updated AS (
+            UPDATE products p
+            SET price_sort_amount = normalize_price(p.price_amount, p.price_currency)
+            FROM batch
+            WHERE p.id = batch.id
+              AND p.price_sort_amount IS DISTINCT FROM normalize_price(p.price_amount, p.price_currency)
+        )
+        SELECT id INTO batch_last_id FROM batch ORDER BY id DESC LIMIT 1;
+
+        EXIT WHEN batch_last_id IS NULL;
+        after_id := batch_last_id;
+        COMMIT;
+    END LOOP;
+END
+$$;
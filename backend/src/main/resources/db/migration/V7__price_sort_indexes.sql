@@ -0,0 +1,14 @@
+-- The price listing orders by the normalized amount; same shape as the V4 indexes it replaces.
+-- Built concurrently outside a transaction (see the .conf file) so listings and writes keep running
+-- while the indexes build. A build that fails leaves an INVALID index behind, which has to be dropped
+-- before the migration is repaired and re-run.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_products_listing_price_sort ON products (price_sort_amount, name COLLATE "C", id)
+    INCLUDE (price_amount, price_currency, category_id)
+    WHERE is_available;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_products_listing_category_price_sort
+    ON products (category_id, price_sort_amount, name COLLATE "C", id)
+    INCLUDE (price_amount, price_currency)
+    WHERE is_available;
+
+DROP INDEX CONCURRENTLY IF EXISTS ix_products_listing_price;
+DROP INDEX CONCURRENTLY IF EXISTS ix_products_listing_category_price;
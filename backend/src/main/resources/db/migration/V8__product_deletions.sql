@@ -0,0 +1,40 @@
+-- Tombstones of hard-deleted products, so the change feed can report removals: a deleted product
+-- leaves no row behind whose updated_at could move. A product inserted again under the same id
+-- drops its tombstone and shows up in the feed as a change instead.
+CREATE TABLE IF NOT EXISTS product_deletions (
+    id UUID PRIMARY KEY,
+    deleted_at TIMESTAMPTZ NOT NULL
+);
+
+-- Keyset order of the removals in the change feed, like ix_products_updated_at_id for changes.
+CREATE INDEX IF NOT EXISTS ix_product_deletions_deleted_at_id ON product_deletions (deleted_at, id);
+
+-- clock_timestamp() for the same reason as in the bulk merge: close to the commit the feed waits for.
+CREATE OR REPLACE FUNCTION products_record_deletion() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO product_deletions (id, deleted_at) VALUES (OLD.id, clock_timestamp())
+    ON CONFLICT (id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION products_clear_deletion() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    DELETE FROM product_deletions WHERE id = NEW.id;
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS trg_products_record_deletion ON products;
+CREATE TRIGGER trg_products_record_deletion
+    AFTER DELETE ON products
+    FOR EACH ROW EXECUTE FUNCTION products_record_deletion();
+
+DROP TRIGGER IF EXISTS trg_products_clear_deletion ON products;
+CREATE TRIGGER trg_products_clear_deletion
+    AFTER INSERT ON products
+    FOR EACH ROW EXECUTE FUNCTION products_clear_deletion();
@@ -0,0 +1,165 @@
+package com.specit.productlist.api;
+
+import com.specit.productlist.model.Category;
+import com.specit.productlist.model.Product;
+import com.specit.productlist.repository.CategoryRepository;
+import com.specit.productlist.repository.ProductRepository;
+import com.specit.productlist.service.CatalogSnapshotService;
+import com.specit.productlist.service.CountMode;
+import com.specit.productlist.service.ProductFacetService;
+import com.specit.productlist.service.ProductLookupService;
+import com.specit.productlist.service.ProductQuery;
+import com.specit.productlist.service.ProductService;
+import com.specit.productlist.testsupport.CountingDataSource;
+import com.specit.productlist.testsupport.PostgresTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reads answered from memory must not check out a pooled connection: under pool exhaustion they
+ * would otherwise fail like database reads.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "catalog.snapshot.enabled=true",
+                "catalog.snapshot.refresh-interval=PT1H",
+                "catalog.suggest.enabled=false",
+                "catalog.price-sort.enabled=false",
+                "catalog.startup.warm-up=false"
+        }
+)
+@AutoConfigureMockMvc
+class CachedReadConnectionIT extends PostgresTestBase {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    CatalogSnapshotService catalogSnapshots;
+
+    @Autowired
+    ProductService productService;
+
+    @Autowired
+    ProductFacetService facetService;
+
+    @Autowired
+    ProductLookupService lookupService;
+
+    private Product atlas;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        Category books = new Category();
+        books.setName("Books");
+        categoryRepository.save(books);
+
+        atlas = new Product();
+        atlas.setName("Atlas");
+        atlas.setAvailable(true);
+        atlas = productRepository.save(atlas);
+        catalogSnapshots.refresh();
+    }
+
+    @Test
+    void categoryCacheHitsTakeNoConnection() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/categories"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        long before = checkouts();
+        mockMvc.perform(get("/api/v1/categories")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        assertEquals(before, checkouts());
+    }
+
+    @Test
+    void productWritesDoNotSendCategoryReadsToTheDatabase() throws Exception {
+        mockMvc.perform(get("/api/v1/categories")).andExpect(status().isOk());
+
+        Product lamp = new Product();
+        lamp.setName("Lamp");
+        lamp.setAvailable(true);
+        productRepository.save(lamp);
+
+        long before = checkouts();
+        mockMvc.perform(get("/api/v1/categories")).andExpect(status().isOk());
+
+        assertEquals(before, checkouts());
+    }
+
+    @Test
+    void snapshotListingsAndCachedFacetsTakeNoConnection() {
+        facetService.facets(null, null);
+
+        long before = checkouts();
+        productService.listAvailableProducts(new ProductQuery(null, null, ProductQuery.Sort.name_asc, 1, 20), CountMode.exact);
+        facetService.facets(null, null);
+
+        assertEquals(before, checkouts());
+    }
+
+    @Test
+    void batchesServedFromTheLookupCacheTakeNoConnection() {
+        List<UUID> ids = List.of(atlas.getId(), UUID.randomUUID());
+        lookupService.lookup(ids);
+
+        long before = checkouts();
+        lookupService.lookup(ids);
+
+        assertEquals(before, checkouts());
+    }
+
+    private long checkouts() {
+        return ((CountingDataSource) dataSource).checkouts();
+    }
+
+    @TestConfiguration
+    static class CountingConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    // Only the data source the application uses; the replica router behind it keeps its type.
+                    if ("dataSource".equals(beanName) && bean instanceof DataSource target) {
+                        return new CountingDataSource(target);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
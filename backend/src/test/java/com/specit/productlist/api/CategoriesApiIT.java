@@ -0,0 +1,77 @@
+package com.specit.productlist.api;
+
+import com.specit.productlist.repository.CategoryRepository;
+import com.specit.productlist.repository.ProductRepository;
+import com.specit.productlist.testsupport.PostgresTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.specit.productlist.testsupport.TestProducts.category;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class CategoriesApiIT extends PostgresTestBase {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @BeforeEach
+    void resetCategories() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void listsCategoriesByNameWithEtag() throws Exception {
+        categoryRepository.save(category("Toys"));
+        categoryRepository.save(category("Books"));
+
+        mockMvc.perform(get("/api/v1/categories"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=")))
+                .andExpect(jsonPath("$[*].name", contains("Books", "Toys")));
+    }
+
+    @Test
+    void answersMatchingIfNoneMatchWithNotModified() throws Exception {
+        categoryRepository.save(category("Books"));
+
+        String etag = mockMvc.perform(get("/api/v1/categories"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void changesEtagWhenCategoriesChange() throws Exception {
+        categoryRepository.save(category("Books"));
+        String before = mockMvc.perform(get("/api/v1/categories"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        categoryRepository.save(category("Toys"));
+
+        mockMvc.perform(get("/api/v1/categories").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(before)))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+}
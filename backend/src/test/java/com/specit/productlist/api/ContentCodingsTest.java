@@ -0,0 +1,38 @@
+package com.specit.productlist.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentCodingsTest {
+
+    @Test
+    void acceptsGzipListedWithAnyNonZeroQuality() {
+        assertTrue(ContentCodings.acceptsGzip("gzip"));
+        assertTrue(ContentCodings.acceptsGzip("br, GZIP;q=0.5"));
+        assertTrue(ContentCodings.acceptsGzip("deflate, x-gzip ; q=1.0"));
+    }
+
+    @Test
+    void refusesGzipWithZeroQualityEvenUnderAWildcard() {
+        assertFalse(ContentCodings.acceptsGzip("gzip;q=0"));
+        assertFalse(ContentCodings.acceptsGzip("gzip;q=0.000, *"));
+        assertFalse(ContentCodings.acceptsGzip("*;q=0"));
+    }
+
+    @Test
+    void fallsBackToTheWildcardWhenGzipIsNotListed() {
+        assertTrue(ContentCodings.acceptsGzip("br;q=1, *;q=0.1"));
+        assertFalse(ContentCodings.acceptsGzip("br, identity"));
+        assertFalse(ContentCodings.acceptsGzip("gzipped"));
+        assertFalse(ContentCodings.acceptsGzip(""));
+        assertFalse(ContentCodings.acceptsGzip(null));
+    }
+
+    @Test
+    void treatsAnUnreadableQualityAsRefused() {
+        assertFalse(ContentCodings.acceptsGzip("gzip;q=high"));
+        assertFalse(ContentCodings.acceptsGzip("gzip;q=2"));
+    }
+}
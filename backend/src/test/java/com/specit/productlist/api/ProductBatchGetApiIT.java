@@ -0,0 +1,113 @@
+package com.specit.productlist.api;
+
+import com.specit.productlist.model.Product;
+import com.specit.productlist.repository.ProductRepository;
+import com.specit.productlist.testsupport.PostgresTestBase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.specit.productlist.testsupport.TestProducts.product;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "catalog.lookup.max-ids=4"
+)
+@AutoConfigureMockMvc
+class ProductBatchGetApiIT extends PostgresTestBase {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void resetProducts() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void returnsProductsInRequestOrderWithNotFoundMarkers() throws Exception {
+        Product lamp = productRepository.save(product("Lamp", true));
+        Product chair = productRepository.save(product("Chair", false));
+        UUID unknown = UUID.randomUUID();
+
+        batchGet(chair.getId(), unknown, lamp.getId(), chair.getId())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(
+                        chair.getId().toString(), unknown.toString(), lamp.getId().toString(), chair.getId().toString())))
+                .andExpect(jsonPath("$.items[*].found", contains(true, false, true, true)))
+                .andExpect(jsonPath("$.items[0].product.name").value("Chair"))
+                .andExpect(jsonPath("$.items[0].product.isAvailable").value(false))
+                .andExpect(jsonPath("$.items[1].product").value(nullValue()))
+                .andExpect(jsonPath("$.items[2].product.name").value("Lamp"));
+    }
+
+    @Test
+    void servesRepeatedLookupsFromTheCacheUntilTheProductChanges() throws Exception {
+        Product lamp = productRepository.save(product("Lamp", true));
+        Product chair = productRepository.save(product("Chair", true));
+        UUID unknown = UUID.randomUUID();
+
+        batchGet(lamp.getId(), unknown, chair.getId()).andExpect(status().isOk());
+        double hitsBefore = cacheGets("hit");
+
+        batchGet(unknown, lamp.getId())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].found", contains(false, true)));
+        assertEquals(hitsBefore + 2, cacheGets("hit"));
+
+        lamp.setName("Desk lamp");
+        productRepository.save(lamp);
+
+        batchGet(lamp.getId())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].product.name").value("Desk lamp"));
+
+        double hitsAfterWrite = cacheGets("hit");
+        batchGet(chair.getId(), unknown).andExpect(status().isOk());
+        assertEquals(hitsAfterWrite + 2, cacheGets("hit"), "a write evicts only the product it touched");
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() throws Exception {
+        batchGet().andExpect(status().isBadRequest());
+        batchGet(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID())
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/products/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [\"not-a-uuid\"]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions batchGet(UUID... ids) throws Exception {
+        String body = Arrays.stream(ids)
+                .map(id -> "\"" + id + "\"")
+                .collect(Collectors.joining(", ", "{\"ids\": [", "]}"));
+        return mockMvc.perform(post("/api/v1/products/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "productLookup", "result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,111 @@
+package com.specit.productlist.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.specit.productlist.model.Product;
+import com.specit.productlist.repository.ProductRepository;
+import com.specit.productlist.testsupport.PostgresTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.specit.productlist.testsupport.TestProducts.product;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "catalog.changes.settle-time=PT0S"
+)
+@AutoConfigureMockMvc
+class ProductChangesApiIT extends PostgresTestBase {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void resetProducts() {
+        productRepository.deleteAll();
+        // Deleting leaves tombstones, which would show up at the start of every feed.
+        jdbcTemplate.update("DELETE FROM product_deletions");
+    }
+
+    @Test
+    void pagesThroughChangesAndReportsProductsThatBecameUnavailable() throws Exception {
+        Product first = productRepository.save(product("First", true));
+        productRepository.save(product("Second", true));
+
+        String body = mockMvc.perform(get("/api/v1/products/changes").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("First")))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String token = JsonPath.read(body, "$.nextToken");
+
+        body = mockMvc.perform(get("/api/v1/products/changes").param("since", token).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Second")))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn().getResponse().getContentAsString();
+        token = JsonPath.read(body, "$.nextToken");
+
+        mockMvc.perform(get("/api/v1/products/changes").param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.nextToken").value(token));
+
+        first.setAvailable(false);
+        productRepository.save(first);
+
+        mockMvc.perform(get("/api/v1/products/changes").param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("First")))
+                .andExpect(jsonPath("$.items[0].isAvailable").value(false));
+    }
+
+    @Test
+    void reportsDeletedProductsAsRemovedInChangeOrder() throws Exception {
+        Product doomed = productRepository.save(product("Doomed", true));
+        productRepository.save(product("Kept", true));
+
+        String body = mockMvc.perform(get("/api/v1/products/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Doomed", "Kept")))
+                .andExpect(jsonPath("$.removed", hasSize(0)))
+                .andReturn().getResponse().getContentAsString();
+        String token = JsonPath.read(body, "$.nextToken");
+
+        productRepository.delete(doomed);
+        Product later = productRepository.save(product("Later", true));
+
+        body = mockMvc.perform(get("/api/v1/products/changes").param("since", token).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.removed", contains(doomed.getId().toString())))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        token = JsonPath.read(body, "$.nextToken");
+
+        mockMvc.perform(get("/api/v1/products/changes").param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(later.getId().toString())))
+                .andExpect(jsonPath("$.removed", hasSize(0)))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void rejectsMalformedToken() throws Exception {
+        mockMvc.perform(get("/api/v1/products/changes").param("since", "not-a-token"))
+                .andExpect(status().isBadRequest());
+    }
+}
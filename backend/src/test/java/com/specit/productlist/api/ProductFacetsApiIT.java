@@ -0,0 +1,78 @@
+package com.specit.productlist.api;
+
+import com.specit.productlist.model.Category;
+import com.specit.productlist.repository.CategoryRepository;
+import com.specit.productlist.repository.ProductRepository;
+import com.specit.productlist.testsupport.PostgresTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.specit.productlist.testsupport.TestProducts.category;
+import static com.specit.productlist.testsupport.TestProducts.product;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class ProductFacetsApiIT extends PostgresTestBase {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    private Category tools;
+    private Category garden;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        tools = categoryRepository.save(category("Tools"));
+        garden = categoryRepository.save(category("Garden"));
+        productRepository.save(product("Hammer", true, "9.00", "USD", tools));
+        productRepository.save(product("Power hammer", true, "240.00", "USD", tools));
+        productRepository.save(product("Saw", true, "30.00", "USD", tools));
+        productRepository.save(product("Hammock", true, "60.00", "USD", garden));
+        productRepository.save(product("Old hammer", false, "5.00", "USD", tools));
+    }
+
+    @Test
+    void unfilteredFacetsCoverAllAvailableProducts() throws Exception {
+        mockMvc.perform(get("/api/v1/products/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.categories[*].name", contains("Tools", "Garden")))
+                .andExpect(jsonPath("$.categories[*].count", contains(3, 1)))
+                .andExpect(jsonPath("$.priceBuckets", hasSize(8)))
+                .andExpect(jsonPath("$.priceBuckets[0].count").value(1))
+                .andExpect(jsonPath("$.priceBuckets[2].count").value(1))
+                .andExpect(jsonPath("$.priceBuckets[3].count").value(1))
+                .andExpect(jsonPath("$.priceBuckets[4].count").value(1));
+    }
+
+    @Test
+    void categoryCountsIgnoreTheCategoryFilterButBucketsRespectIt() throws Exception {
+        mockMvc.perform(get("/api/v1/products/facets")
+                        .param("q", "HAMM")
+                        .param("categoryId", tools.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.categories[*].name", containsInAnyOrder("Tools", "Garden")))
+                .andExpect(jsonPath("$.categories[?(@.name == 'Tools')].count", contains(2)))
+                .andExpect(jsonPath("$.categories[?(@.name == 'Garden')].count", contains(1)))
+                .andExpect(jsonPath("$.priceBuckets[0].count").value(1))
+                .andExpect(jsonPath("$.priceBuckets[4].count").value(1))
+                .andExpect(jsonPath("$.priceBuckets[3].count").value(0));
+    }
+}
@@ -0,0 +1,144 @@
+package com.specit.productlist.api;
+
+import com.specit.productlist.model.Category;
+import com.specit.productlist.model.Product;
+import com.specit.productlist.repository.CategoryRepository;
+import com.specit.productlist.repository.ProductRepository;
+import com.specit.productlist.testsupport.PostgresTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class ProductIngestApiIT extends PostgresTestBase {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @BeforeEach
+    void resetCatalog() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void upsertsJsonArrayAndReportsInvalidProducts() throws Exception {
+        Category category = new Category();
+        category.setName("Lighting");
+        category = categoryRepository.save(category);
+
+        UUID lamp = UUID.randomUUID();
+        UUID bulb = UUID.randomUUID();
+        String body = """
+                [
+                  {"id": "%s", "name": "Desk Lamp", "price": {"amount": 49.90, "currency": "USD"}, "isAvailable": true, "categoryId": "%s"},
+                  {"id": "%s", "name": "Bulb", "isAvailable": true},
+                  {"id": "%s", "name": "  "},
+                  {"id": "%s", "name": "Orphan", "categoryId": "%s"}
+                ]
+                """.formatted(lamp, category.getId(), bulb, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        mockMvc.perform(post("/api/v1/products/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[*].item", containsInAnyOrder(2, 3)));
+
+        Product stored = productRepository.findById(lamp).orElseThrow();
+        assertEquals(0, new BigDecimal("49.90").compareTo(stored.getPriceAmount()));
+        assertEquals(category.getId(), stored.getCategory().getId());
+
+        mockMvc.perform(get("/api/v1/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Bulb", "Desk Lamp")));
+    }
+
+    @Test
+    void ndjsonUpdatesOnlyChangedProducts() throws Exception {
+        UUID lamp = UUID.randomUUID();
+        UUID bulb = UUID.randomUUID();
+        String initial = """
+                {"id": "%s", "name": "Lamp", "price": {"amount": 10.00, "currency": "USD"}, "isAvailable": true}
+                {"id": "%s", "name": "Bulb", "isAvailable": true}
+                """.formatted(lamp, bulb);
+        mockMvc.perform(post("/api/v1/products/bulk").contentType(MediaType.APPLICATION_NDJSON).content(initial))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(2));
+
+        String changes = """
+                {"id": "%s", "name": "Lamp", "price": {"amount": 12.50, "currency": "USD"}, "isAvailable": false}
+                {"id": "%s", "name": "Bulb", "isAvailable": true}
+                """.formatted(lamp, bulb);
+        mockMvc.perform(post("/api/v1/products/bulk").contentType(MediaType.APPLICATION_NDJSON).content(changes))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.inserted").value(0))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.unchanged").value(1))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+
+        assertFalse(productRepository.findById(lamp).orElseThrow().isAvailable());
+    }
+
+    @Test
+    void duplicateIdsInABatchWriteTheLastOccurrenceAndCountTheRestAsSuperseded() throws Exception {
+        UUID lamp = UUID.randomUUID();
+        UUID bulb = UUID.randomUUID();
+        String body = """
+                {"id": "%s", "name": "Lamp", "isAvailable": true}
+                {"id": "%s", "name": "Bulb", "isAvailable": true}
+                {"id": "%s", "name": "Lamp v2", "isAvailable": true}
+                {"id": "%s", "name": "Lamp v3", "isAvailable": false}
+                """.formatted(lamp, bulb, lamp, lamp);
+
+        mockMvc.perform(post("/api/v1/products/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.unchanged").value(0))
+                .andExpect(jsonPath("$.superseded").value(2))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        Product stored = productRepository.findById(lamp).orElseThrow();
+        assertEquals("Lamp v3", stored.getName());
+        assertFalse(stored.isAvailable());
+    }
+
+    @Test
+    void malformedInputKeepsProductsReadBeforeIt() throws Exception {
+        String body = """
+                {"id": "%s", "name": "Kept", "isAvailable": true}
+                {"id": "%s", "name": 
+                """.formatted(UUID.randomUUID(), UUID.randomUUID());
+
+        mockMvc.perform(post("/api/v1/products/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.errors[0].item").value(1))
+                .andExpect(jsonPath("$.errors[0].message", startsWith("Malformed input")));
+    }
+}
@@ -0,0 +1,101 @@
+package com.specit.productlist.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.specit.productlist.model.Product;
+import com.specit.productlist.repository.ProductRepository;
+import com.specit.productlist.service.PriceSortKeyService;
+import com.specit.productlist.testsupport.PostgresTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static com.specit.productlist.testsupport.TestProducts.product;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "catalog.price-sort.refresh-interval=PT1H"
+)
+@AutoConfigureMockMvc
+class ProductPriceSortApiIT extends PostgresTestBase {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PriceSortKeyService priceSortKeyService;
+
+    @BeforeEach
+    void resetCatalog() {
+        productRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM fx_rates WHERE currency <> 'USD'");
+        jdbcTemplate.update("INSERT INTO fx_rates (currency, rate_to_base) VALUES ('EUR', 1.10)");
+    }
+
+    @Test
+    void sortsPricesInDifferentCurrenciesByTheirBaseCurrencyValue() throws Exception {
+        productRepository.save(product("Alpha", true, "100.00", "USD"));
+        Product bravo = productRepository.save(product("Bravo", true, "95.00", "EUR"));
+        productRepository.save(product("Charlie", true, "102.00", "USD"));
+        productRepository.save(product("Delta", true, "1.00", "GBP"));
+
+        assertEquals(0, new BigDecimal("104.5").compareTo(priceSortAmount(bravo)));
+
+        mockMvc.perform(get("/api/v1/products").param("sort", "price_asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Alpha", "Charlie", "Bravo", "Delta")))
+                .andExpect(jsonPath("$.items[2].price.currency", is("EUR")));
+
+        String first = mockMvc.perform(get("/api/v1/products")
+                        .param("sort", "price_asc").param("cursor", "").param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Alpha", "Charlie")))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("sort", "price_asc")
+                        .param("cursor", JsonPath.<String>read(first, "$.nextCursor"))
+                        .param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Bravo", "Delta")))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void reNormalizesStoredKeysAfterARateChange() throws Exception {
+        productRepository.save(product("Alpha", true, "100.00", "USD"));
+        Product bravo = productRepository.save(product("Bravo", true, "95.00", "EUR"));
+        priceSortKeyService.refresh();
+
+        jdbcTemplate.update("UPDATE fx_rates SET rate_to_base = 1.00, updated_at = now() WHERE currency = 'EUR'");
+        assertEquals(0, new BigDecimal("104.5").compareTo(priceSortAmount(bravo)),
+                "stored keys only move when the job runs");
+
+        priceSortKeyService.refresh();
+
+        assertEquals(0, new BigDecimal("95").compareTo(priceSortAmount(bravo)));
+        mockMvc.perform(get("/api/v1/products").param("sort", "price_asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Bravo", "Alpha")));
+    }
+
+    private BigDecimal priceSortAmount(Product product) {
+        return jdbcTemplate.queryForObject(
+                "SELECT price_sort_amount FROM products WHERE id = ?", BigDecimal.class, product.getId());
+    }
+}
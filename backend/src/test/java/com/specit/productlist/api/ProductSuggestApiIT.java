@@ -0,0 +1,114 @@
+package com.specit.productlist.api;
+
+import com.specit.productlist.model.Category;
+import com.specit.productlist.model.Product;
+import com.specit.productlist.repository.CategoryRepository;
+import com.specit.productlist.repository.ProductRepository;
+import com.specit.productlist.service.SuggestionService;
+import com.specit.productlist.testsupport.PostgresTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.specit.productlist.testsupport.TestProducts.category;
+import static com.specit.productlist.testsupport.TestProducts.product;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "catalog.suggest.refresh-interval=PT1H"
+)
+@AutoConfigureMockMvc
+class ProductSuggestApiIT extends PostgresTestBase {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    SuggestionService suggestionService;
+
+    @BeforeEach
+    void resetCatalog() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void suggestsAvailableProductsAndCategoriesByNameAndWordPrefix() throws Exception {
+        Category lamps = categoryRepository.save(category("Lamps"));
+        Product shade = productRepository.save(product("Lamp shade", true));
+        productRepository.save(product("Oak desk lamp", true));
+        productRepository.save(product("Lamp base", false));
+        productRepository.save(product("Chair", true));
+        suggestionService.refresh();
+
+        mockMvc.perform(get("/api/v1/products/suggest").param("prefix", "lam"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].text", contains("Lamps", "Lamp shade", "Oak desk lamp")))
+                .andExpect(jsonPath("$.items[0].type").value("category"))
+                .andExpect(jsonPath("$.items[0].id").value(lamps.getId().toString()))
+                .andExpect(jsonPath("$.items[1].type").value("product"))
+                .andExpect(jsonPath("$.items[1].id").value(shade.getId().toString()));
+
+        mockMvc.perform(get("/api/v1/products/suggest").param("prefix", "lam").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].text", contains("Lamps")));
+    }
+
+    @Test
+    void picksUpCatalogChangesOnTheNextRefresh() throws Exception {
+        Product chair = productRepository.save(product("Chair", true));
+        suggestionService.refresh();
+
+        chair.setName("Armchair");
+        productRepository.save(chair);
+
+        mockMvc.perform(get("/api/v1/products/suggest").param("prefix", "arm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", empty()));
+
+        suggestionService.refresh();
+
+        mockMvc.perform(get("/api/v1/products/suggest").param("prefix", "arm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].text", contains("Armchair")));
+    }
+
+    @Test
+    void suggestsProductsThatShareANameAndDropsDeletedOnes() throws Exception {
+        Product first = productRepository.save(product("Stool", true));
+        Product second = productRepository.save(product("Stool", true));
+        suggestionService.refresh();
+
+        mockMvc.perform(get("/api/v1/products/suggest").param("prefix", "sto"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", containsInAnyOrder(
+                        first.getId().toString(), second.getId().toString())));
+
+        productRepository.delete(first);
+        suggestionService.refresh();
+
+        mockMvc.perform(get("/api/v1/products/suggest").param("prefix", "sto"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(second.getId().toString())));
+    }
+
+    @Test
+    void rejectsMissingPrefixAndOutOfRangeLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/products/suggest"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/products/suggest").param("prefix", "la").param("limit", "21"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,16 +1,30 @@
 package com.specit.productlist.api;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.specit.productlist.model.Product;
 import com.specit.productlist.repository.ProductRepository;
 import com.specit.productlist.testsupport.PostgresTestBase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -24,6 +38,9 @@ class ProductsApiIT extends PostgresTestBase {
     @Autowired
     ProductRepository productRepository;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     void listsOnlyAvailableProducts() throws Exception {
         productRepository.deleteAll();
@@ -56,4 +73,284 @@ class ProductsApiIT extends PostgresTestBase {
                 .andExpect(jsonPath("$.items", hasSize(0)))
                 .andExpect(jsonPath("$.totalItems", is(0)));
     }
+
+    @Test
+    void cursorModeWalksAllPagesInSortOrder() throws Exception {
+        productRepository.deleteAll();
+
+        for (String name : new String[]{"Delta", "Alpha", "Charlie", "Bravo", "Echo"}) {
+            Product p = new Product();
+            p.setName(name);
+            p.setAvailable(true);
+            p.setPriceAmount(new BigDecimal("10.00"));
+            p.setPriceCurrency("USD");
+            productRepository.save(p);
+        }
+
+        String first = mockMvc.perform(get("/api/v1/products").param("cursor", "").param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Alpha", "Bravo")))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andExpect(jsonPath("$.totalItems").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        String second = mockMvc.perform(get("/api/v1/products")
+                        .param("cursor", JsonPath.<String>read(first, "$.nextCursor"))
+                        .param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Charlie", "Delta")))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("cursor", JsonPath.<String>read(second, "$.nextCursor"))
+                        .param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Echo")))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void rejectsCursorIssuedForAnotherSort() throws Exception {
+        productRepository.deleteAll();
+
+        for (String name : new String[]{"Alpha", "Bravo"}) {
+            Product p = new Product();
+            p.setName(name);
+            p.setAvailable(true);
+            productRepository.save(p);
+        }
+
+        String page = mockMvc.perform(get("/api/v1/products").param("cursor", "").param("pageSize", "1"))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("cursor", JsonPath.<String>read(page, "$.nextCursor"))
+                        .param("sort", "price_asc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code", is("BAD_REQUEST")));
+    }
+
+    @Test
+    void relevanceSortRanksClosestNameFirst() throws Exception {
+        productRepository.deleteAll();
+
+        for (String name : new String[]{"Widget Deluxe Edition", "Blue widget", "Widget", "Gadget"}) {
+            Product p = new Product();
+            p.setName(name);
+            p.setAvailable(true);
+            productRepository.save(p);
+        }
+
+        mockMvc.perform(get("/api/v1/products").param("q", " WIDGET ").param("sort", "relevance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[0].name", is("Widget")))
+                .andExpect(jsonPath("$.totalItems", is(3)));
+    }
+
+    @Test
+    void searchTreatsLikeWildcardsLiterally() throws Exception {
+        productRepository.deleteAll();
+
+        for (String name : new String[]{"100% Cotton Tee", "100 Cotton Tee"}) {
+            Product p = new Product();
+            p.setName(name);
+            p.setAvailable(true);
+            productRepository.save(p);
+        }
+
+        mockMvc.perform(get("/api/v1/products").param("q", "100%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name", is("100% Cotton Tee")));
+    }
+
+    @Test
+    void countNoneReportsLowerBoundAndHasNext() throws Exception {
+        productRepository.deleteAll();
+
+        for (String name : new String[]{"Alpha", "Bravo", "Charlie", "Delta", "Echo"}) {
+            Product p = new Product();
+            p.setName(name);
+            p.setAvailable(true);
+            productRepository.save(p);
+        }
+
+        mockMvc.perform(get("/api/v1/products").param("count", "none").param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.totalItemsExact", is(false)))
+                .andExpect(jsonPath("$.totalItems", is(3)));
+
+        mockMvc.perform(get("/api/v1/products").param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItemsExact", is(true)))
+                .andExpect(jsonPath("$.totalItems", is(5)))
+                .andExpect(jsonPath("$.totalPages", is(3)));
+
+        // Counted once above; a later page reuses that count, which may lag writes through other instances.
+        mockMvc.perform(get("/api/v1/products").param("page", "2").param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItemsExact", is(false)))
+                .andExpect(jsonPath("$.totalItems", is(5)));
+
+        mockMvc.perform(get("/api/v1/products").param("count", "none").param("page", "3").param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.totalItemsExact", is(true)))
+                .andExpect(jsonPath("$.totalItems", is(5)));
+    }
+
+    @Test
+    void exportStreamsAvailableProductsAsNdjson() throws Exception {
+        productRepository.deleteAll();
+
+        for (String name : new String[]{"Alpha", "Bravo", "Hidden"}) {
+            Product p = new Product();
+            p.setName(name);
+            p.setAvailable(!name.equals("Hidden"));
+            productRepository.save(p);
+        }
+
+        MvcResult started = mockMvc.perform(get("/api/v1/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.stream().noneMatch(line -> line.contains("Hidden")));
+        assertTrue(body.endsWith("\n"));
+    }
+
+    @Test
+    void exportIsGzippedOnlyWhenGzipHasANonZeroQuality() throws Exception {
+        MvcResult refused = mockMvc.perform(get("/api/v1/products/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(refused))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+
+        MvcResult accepted = mockMvc.perform(get("/api/v1/products/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(accepted))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void recordsListingMetricsByQueryShape() throws Exception {
+        productRepository.deleteAll();
+
+        Product p = new Product();
+        p.setName("Metered");
+        p.setAvailable(true);
+        productRepository.save(p);
+
+        mockMvc.perform(get("/api/v1/products").param("q", "meter").param("sort", "price_asc").param("page", "3"))
+                .andExpect(status().isOk());
+
+        Timer listing = meterRegistry.find("catalog.listing")
+                .tags("q", "true", "category", "false", "sort", "price_asc", "depth", "2-10", "source", "database")
+                .timer();
+        assertNotNull(listing);
+        assertEquals(1, listing.count());
+
+        Timer data = meterRegistry.find("catalog.listing.query")
+                .tags("kind", "data", "sort", "price_asc", "depth", "2-10")
+                .timer();
+        assertNotNull(data);
+        assertTrue(data.count() >= 1);
+
+        assertNotNull(meterRegistry.find("catalog.listing.results").tags("sort", "price_asc").summary());
+    }
+
+    @Test
+    void reportsStageTimingsInServerTimingHeader() throws Exception {
+        productRepository.deleteAll();
+
+        Product p = new Product();
+        p.setName("Timed");
+        p.setAvailable(true);
+        productRepository.save(p);
+
+        mockMvc.perform(get("/api/v1/products").param("q", "timed").param("pageSize", "7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", allOf(
+                        containsString("validation;dur="),
+                        containsString("data;dur="),
+                        containsString("serialization;dur="),
+                        matchesPattern(".*total;dur=[0-9.]+"))))
+                .andExpect(header().string("X-Correlation-Id",
+                        matchesPattern("[0-9a-f]{8}-[0-9a-f]{4}-4[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}")));
+    }
+
+    @Test
+    void cachedListingIsServedUntilTheCatalogChanges() throws Exception {
+        productRepository.deleteAll();
+
+        Product first = new Product();
+        first.setName("Cached First");
+        first.setAvailable(true);
+        productRepository.save(first);
+
+        double hitsBefore = cacheGets("hit");
+
+        mockMvc.perform(get("/api/v1/products").param("q", "cached"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(1));
+        mockMvc.perform(get("/api/v1/products").param("q", " CACHED "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(1));
+
+        assertEquals(hitsBefore + 1, cacheGets("hit"));
+
+        Product second = new Product();
+        second.setName("Cached Second");
+        second.setAvailable(true);
+        productRepository.save(second);
+
+        mockMvc.perform(get("/api/v1/products").param("q", "cached"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(2));
+    }
+
+    @Test
+    void listingIsEncodedAsCborWhenPreferred() throws Exception {
+        productRepository.deleteAll();
+
+        Product product = new Product();
+        product.setName("Binary Lamp");
+        product.setAvailable(true);
+        productRepository.save(product);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/products")
+                        .accept("application/cbor, application/json;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn();
+
+        JsonNode body = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(1, body.get("totalItems").asInt());
+        assertEquals("Binary Lamp", body.get("items").get(0).get("name").asText());
+
+        mockMvc.perform(get("/api/v1/products").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items[0].name").value("Binary Lamp"));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "productListing", "result", result).functionCounter().count();
+    }
 }
@@ -0,0 +1,65 @@
+package com.specit.productlist.infra;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AimdLimiterTest {
+
+    private static final AdmissionControlProperties.Limit SETTINGS =
+            new AdmissionControlProperties.Limit(4, 2, 6, Duration.ofMillis(100));
+
+    @Test
+    void rejectsOnceTheLimitIsFullAndTheWaitRunsOut() throws Exception {
+        AimdLimiter limiter = new AimdLimiter(SETTINGS, 0.5);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(Duration.ZERO));
+        }
+
+        assertFalse(limiter.tryAcquire(Duration.ofMillis(20)));
+        assertEquals(4, limiter.inFlight());
+
+        limiter.release(10, TimeUnit.MILLISECONDS, false);
+        assertTrue(limiter.tryAcquire(Duration.ZERO));
+    }
+
+    @Test
+    void growsWhileBusyAndFastUpToTheMaximum() throws Exception {
+        AimdLimiter limiter = new AimdLimiter(SETTINGS, 0.5);
+        for (int round = 0; round < 5; round++) {
+            while (limiter.tryAcquire(Duration.ZERO)) {
+                // fill every slot
+            }
+            limiter.release(10, TimeUnit.MILLISECONDS, false);
+            assertTrue(limiter.tryAcquire(Duration.ZERO));
+        }
+
+        assertEquals(6, limiter.limit());
+    }
+
+    @Test
+    void backsOffOnSlowOrOverloadedResponsesDownToTheMinimum() throws Exception {
+        AimdLimiter limiter = new AimdLimiter(SETTINGS, 0.5);
+
+        assertTrue(limiter.tryAcquire(Duration.ZERO));
+        limiter.release(500, TimeUnit.MILLISECONDS, false);
+        assertEquals(2, limiter.limit());
+
+        assertTrue(limiter.tryAcquire(Duration.ZERO));
+        limiter.release(1, TimeUnit.MILLISECONDS, true);
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void idleFastResponsesDoNotGrowTheLimit() throws Exception {
+        AimdLimiter limiter = new AimdLimiter(SETTINGS, 0.5);
+
+        assertTrue(limiter.tryAcquire(Duration.ZERO));
+        limiter.release(1, TimeUnit.MILLISECONDS, false);
+
+        assertEquals(4, limiter.limit());
+    }
+}
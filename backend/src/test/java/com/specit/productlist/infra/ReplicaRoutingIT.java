@@ -0,0 +1,89 @@
+package com.specit.productlist.infra;
+
+import com.specit.productlist.model.Product;
+import com.specit.productlist.repository.ProductRepository;
+import com.specit.productlist.testsupport.PostgresReplicaTestBase;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+// The fallback test stops the replica, so it runs last.
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReplicaRoutingIT extends PostgresReplicaTestBase {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Test
+    @Order(1)
+    void exportIsServedByThePrimaryWhileTheReplicaIsHealthy() throws Exception {
+        productRepository.deleteAll();
+
+        Product p = new Product();
+        p.setName("Primary only");
+        p.setAvailable(true);
+        productRepository.save(p);
+
+        assertEquals(List.of("replica-0"), replicaRoutingDataSource.healthyReplicas());
+        MvcResult started = mockMvc.perform(get("/api/v1/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // The replica has no products, so a line can only come from the primary.
+        assertEquals(1, body.lines().count());
+        assertTrue(body.contains("Primary only"));
+    }
+
+    @Test
+    @Order(2)
+    void readsGoToTheReplicaUntilItFailsItsHealthCheck() throws Exception {
+        productRepository.deleteAll();
+
+        // Written through a read-write transaction, so it lands on the primary only.
+        Product p = new Product();
+        p.setName("Primary only");
+        p.setAvailable(true);
+        productRepository.save(p);
+
+        assertEquals(List.of("replica-0"), replicaRoutingDataSource.healthyReplicas());
+        mockMvc.perform(get("/api/v1/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(0));
+
+        REPLICA.stop();
+        replicaRoutingDataSource.checkReplicas();
+
+        assertEquals(List.of(), replicaRoutingDataSource.healthyReplicas());
+        // Another page size, so the response cache does not answer with the replica's result.
+        mockMvc.perform(get("/api/v1/products").param("pageSize", "21"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(1));
+    }
+}
@@ -0,0 +1,31 @@
+package com.specit.productlist.infra;
+
+import com.specit.productlist.testsupport.PostgresTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StartupWarmUpIT extends PostgresTestBase {
+
+    @Autowired
+    HealthEndpoint healthEndpoint;
+
+    @Autowired
+    StartupWarmUp warmUp;
+
+    @Test
+    void readinessWaitsForTheWarmUpListing() throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (warmUp.health().getStatus() != Status.UP && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(Status.UP, warmUp.health().getStatus());
+        assertEquals(Status.UP, healthEndpoint.healthForPath("readiness").getStatus());
+    }
+}
@@ -0,0 +1,197 @@
+package com.specit.productlist.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.specit.productlist.api.dto.ProductCursorPageDto;
+import com.specit.productlist.service.CountMode;
+import com.specit.productlist.service.ProductQuery;
+import com.specit.productlist.service.ProductService;
+import com.specit.productlist.testsupport.PostgresTestBase;
+import com.specit.productlist.testsupport.RecordingDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plan regression suite for the listing queries. Seeds a catalog large enough for the planner to
+ * care, runs each listing shape through {@link ProductService}, and {@code EXPLAIN}s the exact SQL
+ * and bind values Hibernate sent. Sorted listings must be ordered index walks: no sequential scan of
+ * {@code products} and no sort node. Searches must at least not scan the whole table.
+ */
+@SpringBootTest(properties = {
+        "catalog.snapshot.enabled=false",
+        "catalog.startup.warm-up=false",
+        "catalog.price-sort.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductListingPlanIT extends PostgresTestBase {
+
+    private static final int PRODUCTS = 50_000;
+    private static final int CATEGORIES = 40;
+
+    @Autowired
+    ProductService productService;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private RecordingDataSource recorder;
+    private UUID categoryId;
+
+    @BeforeAll
+    void seed() {
+        recorder = (RecordingDataSource) dataSource;
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("""
+                INSERT INTO categories (name)
+                SELECT 'Plan category ' || c FROM generate_series(1, ?) c
+                """, CATEGORIES);
+        // 90% listed, 5% unpriced; every material/item pair is about 1% of the catalog.
+        jdbcTemplate.update("""
+                INSERT INTO products (name, description_summary, image_url, price_amount, price_currency,
+                                      is_available, category_id)
+                SELECT initcap((ARRAY['oak', 'steel', 'glass', 'wool', 'linen', 'brass', 'clay', 'pine'])[1 + n % 8])
+                           || ' ' || (ARRAY['lamp', 'chair', 'table', 'rug', 'vase', 'shelf', 'desk', 'stool',
+                                            'mirror', 'bench', 'clock', 'bowl'])[1 + (n / 8) % 12]
+                           || ' ' || n,
+                       'Description summary of catalog product number ' || n,
+                       'https://cdn.example.com/images/products/' || n || '.jpg',
+                       CASE WHEN n % 20 = 0 THEN NULL ELSE round((1 + random() * 999)::numeric, 2) END,
+                       CASE WHEN n % 20 = 0 THEN NULL ELSE 'USD' END,
+                       n % 10 <> 0,
+                       (SELECT array_agg(id ORDER BY name) FROM categories)[1 + n % ?]
+                FROM generate_series(1, ?) n
+                """, CATEGORIES, PRODUCTS);
+        jdbcTemplate.execute("VACUUM ANALYZE products");
+        jdbcTemplate.execute("VACUUM ANALYZE categories");
+        categoryId = jdbcTemplate.queryForObject(
+                "SELECT id FROM categories WHERE name = 'Plan category 7'", UUID.class);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM categories");
+    }
+
+    @Test
+    void unfilteredListingsWalkAnIndex() throws Exception {
+        assertOrderedIndexWalk(listingPlan(new ProductQuery(null, null, ProductQuery.Sort.name_asc, 1, 20)));
+        assertOrderedIndexWalk(listingPlan(new ProductQuery(null, null, ProductQuery.Sort.price_asc, 1, 20)));
+        assertOrderedIndexWalk(listingPlan(new ProductQuery(null, null, ProductQuery.Sort.name_asc, 50, 20)));
+    }
+
+    @Test
+    void categoryListingsWalkAnIndex() throws Exception {
+        assertOrderedIndexWalk(listingPlan(new ProductQuery(null, categoryId, ProductQuery.Sort.name_asc, 1, 20)));
+        assertOrderedIndexWalk(listingPlan(new ProductQuery(null, categoryId, ProductQuery.Sort.price_asc, 1, 20)));
+        assertOrderedIndexWalk(listingPlan(new ProductQuery(null, categoryId, ProductQuery.Sort.price_asc, 1, 200)));
+    }
+
+    @Test
+    void cursorScrollsWalkAnIndex() throws Exception {
+        for (ProductQuery.Sort sort : List.of(ProductQuery.Sort.name_asc, ProductQuery.Sort.price_asc)) {
+            ProductQuery query = new ProductQuery(null, null, sort, 1, 20);
+            ProductCursorPageDto first = productService.scrollAvailableProducts(query, null);
+            assertNotNull(first.nextCursor());
+
+            recorder.clear();
+            productService.scrollAvailableProducts(query, first.nextCursor());
+            assertOrderedIndexWalk(plan(dataQuery()));
+        }
+    }
+
+    @Test
+    void searchesDoNotScanTheCatalog() throws Exception {
+        for (ProductQuery.Sort sort : ProductQuery.Sort.values()) {
+            JsonNode plan = listingPlan(new ProductQuery("oak lamp", null, sort, 1, 20));
+            assertFalse(nodeTypes(plan, "products").contains("Seq Scan"), () -> "sequential scan for " + sort + ":\n" + plan.toPrettyString());
+        }
+    }
+
+    private JsonNode listingPlan(ProductQuery query) throws Exception {
+        recorder.clear();
+        productService.listAvailableProducts(query, CountMode.none);
+        return plan(dataQuery());
+    }
+
+    private RecordingDataSource.RecordedStatement dataQuery() {
+        List<RecordingDataSource.RecordedStatement> ordered = recorder.statements().stream()
+                .filter(s -> s.sql().toLowerCase(Locale.ROOT).contains(" order by "))
+                .toList();
+        assertEquals(1, ordered.size(), () -> "expected one listing query, recorded " + recorder.statements());
+        return ordered.get(0);
+    }
+
+    private JsonNode plan(RecordingDataSource.RecordedStatement statement) throws Exception {
+        return objectMapper.readTree(recorder.explain(statement)).get(0).get("Plan");
+    }
+
+    private static void assertOrderedIndexWalk(JsonNode plan) {
+        List<String> products = nodeTypes(plan, "products");
+        List<String> all = nodeTypes(plan, null);
+        assertAll(
+                () -> assertFalse(products.contains("Seq Scan"), () -> "sequential scan:\n" + plan.toPrettyString()),
+                () -> assertFalse(all.contains("Sort") || all.contains("Incremental Sort"),
+                        () -> "explicit sort:\n" + plan.toPrettyString())
+        );
+    }
+
+    /**
+     * Node types of {@code plan} and its children, limited to scans of {@code relation} when given.
+     */
+    private static List<String> nodeTypes(JsonNode plan, String relation) {
+        List<String> types = new ArrayList<>();
+        collect(plan, relation, types);
+        return types;
+    }
+
+    private static void collect(JsonNode node, String relation, List<String> types) {
+        if (relation == null || relation.equals(node.path("Relation Name").asText(null))) {
+            types.add(node.path("Node Type").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, relation, types);
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    // Only the data source the application uses; the replica router behind it keeps its type.
+                    if ("dataSource".equals(beanName) && bean instanceof DataSource target) {
+                        return new RecordingDataSource(target);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
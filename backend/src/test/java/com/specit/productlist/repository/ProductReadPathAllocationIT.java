@@ -0,0 +1,99 @@
+package com.specit.productlist.repository;
+
+import com.specit.productlist.model.Category;
+import com.specit.productlist.model.Product;
+import com.specit.productlist.service.ProductMapper;
+import com.specit.productlist.testsupport.PostgresTestBase;
+import jakarta.persistence.criteria.JoinType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation per listing request of the entity path versus the DTO projection path, measured with
+ * the per-thread allocation counter over a warmed-up loop. Prints bytes per request for both.
+ */
+@SpringBootTest
+class ProductReadPathAllocationIT extends PostgresTestBase {
+
+    private static final int PAGE_SIZE = 200;
+    private static final int WARMUP = 200;
+    private static final int MEASURED = 500;
+
+    private static final Specification<Product> AVAILABLE = (root, q, cb) -> {
+        if (q.getResultType() == Product.class) {
+            root.fetch("category", JoinType.LEFT);
+        }
+        return cb.isTrue(root.get("isAvailable"));
+    };
+    private static final Sort BY_NAME = Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id"));
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        List<Category> categories = new ArrayList<>();
+        for (int c = 0; c < 10; c++) {
+            Category category = new Category();
+            category.setName("Category " + c);
+            categories.add(categoryRepository.save(category));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Product p = new Product();
+            p.setName("Product %05d".formatted(i));
+            p.setDescriptionSummary("A reasonably long description summary for product number " + i);
+            p.setImageUrl("https://cdn.example.com/images/products/" + i + ".jpg");
+            p.setPriceAmount(new BigDecimal("19.99"));
+            p.setPriceCurrency("USD");
+            p.setAvailable(true);
+            p.setCategory(categories.get(i % categories.size()));
+            products.add(p);
+        }
+        productRepository.saveAll(products);
+    }
+
+    @Test
+    void projectionAllocatesLessThanEntityHydration() {
+        long entityBytes = bytesPerRequest(() -> productRepository.findWindow(AVAILABLE, BY_NAME, 0, PAGE_SIZE)
+                .stream()
+                .map(ProductMapper::toDto)
+                .toList());
+        long projectionBytes = bytesPerRequest(() -> productRepository.findDtoWindow(AVAILABLE, BY_NAME, 0, PAGE_SIZE));
+
+        System.out.printf("pageSize=%d entity=%d B/request projection=%d B/request (%.1f%%)%n",
+                PAGE_SIZE, entityBytes, projectionBytes, 100.0 * projectionBytes / entityBytes);
+        assertTrue(projectionBytes < entityBytes,
+                "projection path allocated " + projectionBytes + " B/request, entity path " + entityBytes);
+    }
+
+    private static long bytesPerRequest(Runnable request) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            request.run();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED; i++) {
+            request.run();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED;
+    }
+}
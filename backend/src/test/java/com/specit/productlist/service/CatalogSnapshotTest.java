@@ -0,0 +1,211 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.CategoryDto;
+import com.specit.productlist.api.dto.CategoryFacetDto;
+import com.specit.productlist.api.dto.MoneyDto;
+import com.specit.productlist.api.dto.PriceBucketDto;
+import com.specit.productlist.api.dto.ProductDto;
+import com.specit.productlist.api.dto.ProductFacetsDto;
+import com.specit.productlist.api.dto.ProductListResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private static final CategoryDto TOOLS = new CategoryDto(UUID.randomUUID(), "Tools");
+    private static final Instant NOW = Instant.parse("2026-01-28T10:00:00Z");
+    private static final FxRates RATES = new FxRates(Map.of("USD", BigDecimal.ONE, "EUR", new BigDecimal("1.10")));
+
+    @Test
+    void pagesByNameAndCountsAllAvailableProducts() {
+        CatalogSnapshot snapshot = snapshotOf(
+                product("Delta", "4.00", null),
+                product("Alpha", "9.00", TOOLS),
+                product("Charlie", null, TOOLS),
+                product("Bravo", "1.00", null)
+        );
+
+        ProductListResponseDto page = snapshot.list(query(null, null, ProductQuery.Sort.name_asc, 2, 3), CountMode.exact);
+
+        assertEquals(List.of("Delta"), names(page));
+        assertEquals(4, page.totalItems());
+        assertEquals(2, page.totalPages());
+    }
+
+    @Test
+    void neverReportsItsTotalAsExactAndStopsPastThePageWithoutCounting() {
+        CatalogSnapshot snapshot = snapshotOf(
+                product("Hammer", "9.00", TOOLS),
+                product("Claw hammer", "12.00", TOOLS),
+                product("Sledge hammer", "30.00", TOOLS),
+                product("Hammock", "40.00", null)
+        );
+
+        ProductListResponseDto counted = snapshot.list(query("hamm", null, ProductQuery.Sort.name_asc, 1, 2), CountMode.exact);
+        assertEquals(4, counted.totalItems());
+        assertFalse(counted.totalItemsExact());
+
+        ProductListResponseDto bounded = snapshot.list(query("hamm", null, ProductQuery.Sort.name_asc, 1, 2), CountMode.none);
+        assertEquals(List.of("Claw hammer", "Hammer"), names(bounded));
+        assertEquals(3, bounded.totalItems());
+        assertTrue(bounded.hasNext());
+        assertFalse(bounded.totalItemsExact());
+
+        ProductListResponseDto last = snapshot.list(query(null, TOOLS.id(), ProductQuery.Sort.name_asc, 2, 2), CountMode.none);
+        assertEquals(List.of("Sledge hammer"), names(last));
+        assertEquals(3, last.totalItems());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void sortsByPriceWithNullsLast() {
+        CatalogSnapshot snapshot = snapshotOf(
+                product("Charlie", null, null),
+                product("Alpha", "9.00", null),
+                product("Bravo", "1.00", null)
+        );
+
+        ProductListResponseDto page = snapshot.list(query(null, null, ProductQuery.Sort.price_asc, 1, 20), CountMode.exact);
+
+        assertEquals(List.of("Bravo", "Alpha", "Charlie"), names(page));
+    }
+
+    @Test
+    void sortsPricesInDifferentCurrenciesByTheirBaseCurrencyValue() {
+        CatalogSnapshot snapshot = snapshotOf(
+                product("Alpha", "100.00", "USD", null),
+                product("Bravo", "95.00", "EUR", null),
+                product("Charlie", "102.00", "USD", null),
+                product("Delta", "1.00", "GBP", null)
+        );
+
+        ProductListResponseDto page = snapshot.list(query(null, null, ProductQuery.Sort.price_asc, 1, 20), CountMode.exact);
+
+        assertEquals(List.of("Alpha", "Charlie", "Bravo", "Delta"), names(page));
+        assertEquals(List.of(0L, 3L), snapshot.facets(List.of(new BigDecimal("100"))).priceBuckets().stream()
+                .map(PriceBucketDto::count).toList(), "a currency without a rate is not bucketed");
+    }
+
+    @Test
+    void filtersByCategoryAndSearchTerm() {
+        CatalogSnapshot snapshot = snapshotOf(
+                product("Hammer", "9.00", TOOLS),
+                product("Claw hammer", "12.00", TOOLS),
+                product("Hammock", "40.00", null),
+                product("Saw", "15.00", TOOLS)
+        );
+
+        ProductListResponseDto page = snapshot.list(query("hamm", TOOLS.id(), ProductQuery.Sort.name_asc, 1, 20), CountMode.exact);
+
+        assertEquals(List.of("Claw hammer", "Hammer"), names(page));
+        assertEquals(2, page.totalItems());
+        assertEquals(0, snapshot.list(query(null, UUID.randomUUID(), ProductQuery.Sort.name_asc, 1, 20), CountMode.exact).totalItems());
+    }
+
+    @Test
+    void applyReplacesChangedRowsAndDropsUnavailableOnes() {
+        ProductDto alpha = product("Alpha", "9.00", null);
+        ProductDto bravo = product("Bravo", "1.00", null);
+        CatalogSnapshot snapshot = snapshotOf(alpha, bravo);
+
+        ProductDto renamed = new ProductDto(bravo.id(), "Aardvark", null, null, bravo.price(), true, null);
+        ProductDto withdrawn = new ProductDto(alpha.id(), "Alpha", null, null, alpha.price(), false, null);
+        CatalogSnapshot next = snapshot.apply(List.of(renamed, withdrawn), NOW.plusSeconds(1), NOW.plusSeconds(1));
+
+        assertEquals(List.of("Aardvark"), names(next.list(query(null, null, ProductQuery.Sort.name_asc, 1, 20), CountMode.exact)));
+        assertEquals(2, snapshot.size(), "previous snapshot must stay untouched");
+    }
+
+    @Test
+    void applyOfRowsItAlreadyHasKeepsTheRows() {
+        ProductDto alpha = product("Alpha", "9.00", TOOLS);
+        CatalogSnapshot snapshot = snapshotOf(alpha, product("Bravo", "1.00", null));
+        ProductDto unknownWithdrawn = new ProductDto(UUID.randomUUID(), "Gone", null, null, null, false, null);
+
+        CatalogSnapshot next = snapshot.apply(List.of(alpha, unknownWithdrawn), NOW.plusSeconds(1), NOW.plusSeconds(1));
+
+        assertTrue(next.hasSameRowsAs(snapshot));
+        assertEquals(NOW.plusSeconds(1), next.productsWatermark());
+        assertFalse(snapshot.apply(List.of(product("Charlie", null, null)), NOW, NOW).hasSameRowsAs(snapshot));
+    }
+
+    @Test
+    void applyMergesChangedRowsIntoBothOrders() {
+        ProductDto alpha = product("Alpha", "9.00", null);
+        ProductDto golf = product("Golf", "5.00", null);
+        CatalogSnapshot snapshot = snapshotOf(alpha, product("Charlie", "3.00", null), product("Echo", null, null), golf);
+
+        ProductDto cheaperAlpha = new ProductDto(alpha.id(), "Alpha", null, null,
+                new MoneyDto(new BigDecimal("1.00"), "USD"), true, null);
+        ProductDto renamedGolf = new ProductDto(golf.id(), "Bravo", null, null, golf.price(), true, null);
+        CatalogSnapshot next = snapshot.apply(List.of(product("Delta", "4.00", null), cheaperAlpha, renamedGolf),
+                NOW.plusSeconds(1), NOW.plusSeconds(1));
+
+        assertEquals(List.of("Alpha", "Bravo", "Charlie", "Delta", "Echo"),
+                names(next.list(query(null, null, ProductQuery.Sort.name_asc, 1, 20), CountMode.exact)));
+        assertEquals(List.of("Alpha", "Charlie", "Delta", "Bravo", "Echo"),
+                names(next.list(query(null, null, ProductQuery.Sort.price_asc, 1, 20), CountMode.exact)));
+    }
+
+    @Test
+    void ordersNamesByCodePointLikeTheDatabaseListing() {
+        CatalogSnapshot snapshot = snapshotOf(
+                product("\uD83C\uDF4E Apple", null, null),
+                product("\uFF21pple", null, null),
+                product("apple", null, null),
+                product("Zebra", null, null)
+        );
+
+        ProductListResponseDto page = snapshot.list(query(null, null, ProductQuery.Sort.name_asc, 1, 20), CountMode.exact);
+
+        // String.compareTo would put the surrogate pair (U+1F34E) before U+FF21.
+        assertEquals(List.of("Zebra", "apple", "\uFF21pple", "\uD83C\uDF4E Apple"), names(page));
+    }
+
+    @Test
+    void facetsCountCategoriesAndPriceBuckets() {
+        CatalogSnapshot snapshot = snapshotOf(
+                product("Hammer", "9.99", TOOLS),
+                product("Saw", "10.00", TOOLS),
+                product("Drill", "120.00", TOOLS),
+                product("Lamp", "25.00", null),
+                product("Gift card", null, null)
+        );
+
+        ProductFacetsDto facets = snapshot.facets(List.of(new BigDecimal("10"), new BigDecimal("100")));
+
+        assertEquals(5, facets.total());
+        assertEquals(List.of(new CategoryFacetDto(TOOLS.id(), "Tools", 3)), facets.categories());
+        assertEquals(List.of(1L, 2L, 1L), facets.priceBuckets().stream().map(PriceBucketDto::count).toList());
+        assertNull(facets.priceBuckets().get(0).min());
+        assertNull(facets.priceBuckets().get(2).max());
+    }
+
+    private static CatalogSnapshot snapshotOf(ProductDto... products) {
+        return CatalogSnapshot.build(List.of(products), RATES, NOW, NOW, NOW);
+    }
+
+    private static ProductQuery query(String q, UUID categoryId, ProductQuery.Sort sort, int page, int pageSize) {
+        return new ProductQuery(q, categoryId, sort, page, pageSize);
+    }
+
+    private static ProductDto product(String name, String price, CategoryDto category) {
+        return product(name, price, "USD", category);
+    }
+
+    private static ProductDto product(String name, String price, String currency, CategoryDto category) {
+        MoneyDto money = price == null ? null : new MoneyDto(new BigDecimal(price), currency);
+        return new ProductDto(UUID.randomUUID(), name, null, null, money, true, category);
+    }
+
+    private static List<String> names(ProductListResponseDto page) {
+        return page.items().stream().map(ProductDto::name).toList();
+    }
+}
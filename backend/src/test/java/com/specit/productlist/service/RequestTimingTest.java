@@ -0,0 +1,60 @@
+package com.specit.productlist.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void unbind() {
+        RequestTiming.end();
+    }
+
+    @Test
+    void recordsNothingOutsideATimedRequest() {
+        assertEquals("rows", RequestTiming.time(RequestTiming.Stage.data, () -> "rows"));
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void reportsRecordedStagesAndTotalInServerTimingFormat() throws InterruptedException {
+        RequestTiming timing = RequestTiming.begin();
+        timing.dispatched(System.nanoTime());
+        Thread.sleep(2);
+
+        RequestTiming.time(RequestTiming.Stage.data, () -> {
+            sleep();
+            return null;
+        });
+        long now = System.nanoTime();
+
+        String header = timing.serverTiming(now);
+        assertTrue(header.matches("(filter;dur=[0-9.]+, )?validation;dur=[0-9.]+, data;dur=[0-9.]+, total;dur=[0-9.]+"), header);
+        assertTrue(timing.stageMillis().get("validation") >= 2.0, header);
+        assertTrue(timing.stageMillis().get("data") >= 2.0, header);
+        assertFalse(timing.stageMillis().containsKey("count"));
+    }
+
+    @Test
+    void closesValidationOnlyOnce() throws InterruptedException {
+        RequestTiming timing = RequestTiming.begin();
+        timing.dispatched(System.nanoTime());
+        RequestTiming.record(RequestTiming.Stage.spec, RequestTiming.start());
+        double validation = timing.stageMillis().getOrDefault("validation", 0.0);
+
+        Thread.sleep(5);
+        RequestTiming.record(RequestTiming.Stage.data, RequestTiming.start());
+
+        assertEquals(validation, timing.stageMillis().getOrDefault("validation", 0.0));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
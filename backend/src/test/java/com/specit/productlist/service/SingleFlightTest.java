@@ -0,0 +1,131 @@
+package com.specit.productlist.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int WAITERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(WAITERS + 1);
+    private final List<SingleFlight.Outcome> outcomes = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneComputation() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(flight, () -> {
+            runs.incrementAndGet();
+            await(release);
+            return "page";
+        }, release);
+
+        for (Future<String> result : results) {
+            assertEquals("page", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(WAITERS, outcomes.stream().filter(o -> o == SingleFlight.Outcome.shared).count());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void failurePropagatesToEveryWaiterAndIsNotRemembered() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(flight, () -> {
+            await(release);
+            throw new IllegalStateException("database down");
+        }, release);
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertEquals(WAITERS, outcomes.stream().filter(o -> o == SingleFlight.Outcome.failed).count());
+        assertEquals("recovered", flight.execute("key", () -> "recovered", outcomes::add));
+    }
+
+    @Test
+    void waiterGivesUpAfterTheTimeout() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> flight.execute("key", () -> {
+            started.countDown();
+            await(release);
+            return "slow";
+        }, outcomes::add));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(QueryTimeoutException.class, () -> flight.execute("key", () -> "own", outcomes::add));
+        assertEquals(List.of(SingleFlight.Outcome.timeout), outcomes);
+
+        release.countDown();
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Starts one caller that runs {@code work}, then {@link #WAITERS} callers of the same key while it
+     * is still running, and finally lets {@code work} finish by counting down {@code release}.
+     */
+    private List<Future<String>> runConcurrently(
+            SingleFlight<String, String> flight,
+            Supplier<String> work,
+            CountDownLatch release
+    ) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> flight.execute("key", () -> {
+            started.countDown();
+            return work.get();
+        }, outcomes::add)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch calling = new CountDownLatch(WAITERS);
+        for (int i = 0; i < WAITERS; i++) {
+            results.add(executor.submit(() -> {
+                calling.countDown();
+                return flight.execute("key", () -> "not shared", outcomes::add);
+            }));
+        }
+        assertTrue(calling.await(5, TimeUnit.SECONDS));
+        // Give the waiters time to get from the latch into execute() before the shared work completes.
+        Thread.sleep(200);
+        release.countDown();
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.specit.productlist.service;
+
+import com.specit.productlist.api.dto.SuggestionDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionIndexTest {
+
+    @Test
+    void matchesNamePrefixesBeforeWordPrefixesAndCategoriesBeforeProducts() {
+        SuggestionIndex index = SuggestionIndex.build(List.of(
+                product("Oak lamp"),
+                product("Lamp shade"),
+                category("Lamps"),
+                product("Desk")
+        ));
+
+        assertEquals(List.of("Lamps", "Lamp shade", "Oak lamp"), texts(index.suggest("LAM", 8)));
+        assertEquals(List.of("Lamp shade"), texts(index.suggest(" lamp s", 8)));
+        assertEquals(List.of("Desk"), texts(index.suggest("d", 8)));
+    }
+
+    @Test
+    void prefersShorterNamesAndKeepsProductsThatShareAName() {
+        SuggestionIndex index = SuggestionIndex.build(List.of(
+                product("Chair cushion"),
+                product("Chair"),
+                product("chair"),
+                product("Chairs, set of four")
+        ));
+
+        assertEquals(4, index.size());
+        assertEquals(List.of("Chair", "chair", "Chair cushion"), texts(index.suggest("cha", 3)));
+    }
+
+    @Test
+    void answersWideRangesTheSameWayAsNarrowOnes() {
+        List<SuggestionDto> candidates = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            candidates.add(product("Oak table " + i));
+            candidates.add(product("Table " + i + " oak"));
+        }
+        SuggestionIndex index = SuggestionIndex.build(candidates);
+
+        assertEquals(List.of("Oak table 0", "Oak table 1", "Oak table 2"), texts(index.suggest("oa", 3)));
+        assertEquals(List.of("Oak table 0", "Oak table 1", "Oak table 2"), texts(index.suggest("oak t", 3)));
+        assertEquals(List.of("Table 0 oak", "Table 1 oak"), texts(index.suggest("tab", 2)));
+        assertEquals(List.of("Oak table 999"), texts(index.suggest("oak table 999", 5)));
+    }
+
+    @Test
+    void returnsNothingForBlankOrUnknownPrefixesAndCapsTheLimit() {
+        List<SuggestionDto> candidates = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            candidates.add(product("Lamp " + i));
+        }
+        SuggestionIndex index = SuggestionIndex.build(candidates);
+
+        assertEquals(List.of(), index.suggest("  ", 8));
+        assertEquals(List.of(), index.suggest("zebra", 8));
+        assertEquals(SuggestionIndex.MAX_LIMIT, index.suggest("lamp", 100).size());
+        assertEquals(List.of(), SuggestionIndex.EMPTY.suggest("lamp", 8));
+    }
+
+    private static SuggestionDto product(String name) {
+        return new SuggestionDto(name, SuggestionDto.Type.product, UUID.randomUUID());
+    }
+
+    private static SuggestionDto category(String name) {
+        return new SuggestionDto(name, SuggestionDto.Type.category, UUID.randomUUID());
+    }
+
+    private static List<String> texts(List<SuggestionDto> suggestions) {
+        return suggestions.stream().map(SuggestionDto::text).toList();
+    }
+}
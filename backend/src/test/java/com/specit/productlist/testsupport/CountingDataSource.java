@@ -0,0 +1,36 @@
+package com.specit.productlist.testsupport;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts connection checkouts, so a test can assert that a path never touched the pool.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    private final AtomicLong checkouts = new AtomicLong();
+
+    public CountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        checkouts.incrementAndGet();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        checkouts.incrementAndGet();
+        return super.getConnection(username, password);
+    }
+
+    public long checkouts() {
+        return checkouts.get();
+    }
+}
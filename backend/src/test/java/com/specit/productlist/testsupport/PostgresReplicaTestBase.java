@@ -0,0 +1,34 @@
+package com.specit.productlist.testsupport;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Adds a second Postgres standing in for a read replica. It is not replicating: it gets the same
+ * schema but its own data, so a test can tell from the results which database served a read.
+ */
+public abstract class PostgresReplicaTestBase extends PostgresTestBase {
+
+    protected static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("product_list")
+            .withUsername("postgres")
+            .withPassword("postgres");
+
+    static {
+        REPLICA.start();
+        Flyway.configure()
+                .dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @DynamicPropertySource
+    static void registerReplicaProps(DynamicPropertyRegistry registry) {
+        registry.add("catalog.replicas.enabled", () -> "true");
+        registry.add("catalog.replicas.nodes[0].url", REPLICA::getJdbcUrl);
+        registry.add("catalog.replicas.nodes[0].username", REPLICA::getUsername);
+        registry.add("catalog.replicas.nodes[0].password", REPLICA::getPassword);
+    }
+}
@@ -0,0 +1,130 @@
+package com.specit.productlist.testsupport;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Remembers the SQL and bind values of every prepared statement executed through it, so a test can
+ * re-run exactly what Hibernate sent, for example under {@code EXPLAIN}.
+ */
+public class RecordingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+    public RecordingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recording(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recording(super.getConnection(username, password));
+    }
+
+    public List<RecordedStatement> statements() {
+        return List.copyOf(statements);
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    /**
+     * Plan of {@code statement} with its original bind values, as returned by {@code EXPLAIN (FORMAT JSON)}.
+     */
+    public String explain(RecordedStatement statement) throws SQLException {
+        try (Connection connection = obtainTargetDataSource().getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+            for (Bind bind : statement.binds()) {
+                invoke(bind.setter(), explain, bind.args());
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable target) {
+            target.close();
+        }
+    }
+
+    private Connection recording(Connection connection) {
+        return proxy(Connection.class, (method, args) -> {
+            Object result = invoke(method, connection, args);
+            if (method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+                return recording((PreparedStatement) result, sql);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement recording(PreparedStatement statement, String sql) {
+        List<Bind> binds = new ArrayList<>();
+        return proxy(PreparedStatement.class, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args.length >= 2 && args[0] instanceof Integer) {
+                binds.add(new Bind(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if (name.startsWith("execute") && args.length == 0) {
+                statements.add(new RecordedStatement(sql, List.copyOf(binds)));
+            }
+            return invoke(method, statement, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (self, method, args) -> handler.handle(method, args == null ? new Object[0] : args));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws SQLException;
+    }
+
+    /**
+     * A {@code PreparedStatement.setXxx(index, ...)} call.
+     */
+    public record Bind(Method setter, Object[] args) {
+    }
+
+    public record RecordedStatement(String sql, List<Bind> binds) {
+    }
+}
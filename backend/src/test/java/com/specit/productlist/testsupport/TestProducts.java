@@ -0,0 +1,41 @@
+package com.specit.productlist.testsupport;
+
+import com.specit.productlist.model.Category;
+import com.specit.productlist.model.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * Unsaved products and categories for test fixtures.
+ */
+public final class TestProducts {
+
+    private TestProducts() {
+    }
+
+    public static Product product(String name, boolean available) {
+        Product p = new Product();
+        p.setName(name);
+        p.setAvailable(available);
+        return p;
+    }
+
+    public static Product product(String name, boolean available, String price, String currency) {
+        Product p = product(name, available);
+        p.setPriceAmount(new BigDecimal(price));
+        p.setPriceCurrency(currency);
+        return p;
+    }
+
+    public static Product product(String name, boolean available, String price, String currency, Category category) {
+        Product p = product(name, available, price, currency);
+        p.setCategory(category);
+        return p;
+    }
+
+    public static Category category(String name) {
+        Category c = new Category();
+        c.setName(name);
+        return c;
+    }
+}
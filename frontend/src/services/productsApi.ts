@@ -26,12 +26,14 @@ export type ProductListResponse = {
   pageSize: number;
   totalItems: number;
   totalPages: number;
+  totalItemsExact?: boolean;
+  hasNext?: boolean;
 };
 
 export type ProductQueryParams = {
   q?: string;
   categoryId?: string;
-  sort?: 'name_asc' | 'price_asc';
+  sort?: 'name_asc' | 'price_asc' | 'relevance';
   page?: number;
   pageSize?: number;
 };